@@ -0,0 +1,110 @@
+package com.sports.scholarship.bench;
+
+import com.sports.scholarship.entity.ApplicationStatus;
+import com.sports.scholarship.entity.Role;
+import com.sports.scholarship.entity.Scholarship;
+import com.sports.scholarship.entity.ScholarshipApplication;
+import com.sports.scholarship.entity.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Seeded fixtures shaped like production rows: a personal statement of one to two and a half
+// thousand characters, the shorter answers up to their 255-character columns, two to four
+// documents per application, a handful of sports.
+final class BenchmarkData {
+    
+    static final String[] SPORTS = {"Football", "Basketball", "Cricket", "Tennis", "Athletics", "Swimming", "Hockey", "Volleyball"};
+    static final String[] CATEGORIES = {"Merit", "Need-based", "Athletic Excellence", "Women in Sports", "Para Sports"};
+    
+    private static final String WORDS = "training season coach team tournament district state national match goal "
+        + "practice fitness discipline captain league record medal final scholarship academy school college "
+        + "family support injury recovery stamina strategy leadership community volunteer mentor grades";
+    
+    private final Random random;
+    private final String[] words = WORDS.split(" ");
+    
+    BenchmarkData(long seed) {
+        this.random = new Random(seed);
+    }
+    
+    // Unsaved entities, ids left to the database
+    List<Scholarship> scholarships(int count) {
+        List<Scholarship> scholarships = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDate deadline = LocalDate.now().plusDays(30 + random.nextInt(300));
+            Scholarship scholarship = new Scholarship(
+                SPORTS[random.nextInt(SPORTS.length)] + " Scholarship " + i,
+                text(300, 1200),
+                SPORTS[random.nextInt(SPORTS.length)],
+                CATEGORIES[random.nextInt(CATEGORIES.length)],
+                BigDecimal.valueOf(1000 + random.nextInt(49) * 500L),
+                deadline,
+                deadline.plusMonths(2),
+                deadline.plusMonths(14),
+                text(200, 600),
+                text(80, 250)
+            );
+            scholarships.add(scholarship);
+        }
+        return scholarships;
+    }
+    
+    List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User("athlete" + i, "athlete" + i + "@example.com",
+                "$2a$10$abcdefghijklmnopqrstuu7EoGyBBhaHkGjSXc8CiqWrWy0Rp7bOq", "Athlete Number " + i, "+1-555-" + (1000 + i % 9000));
+            user.setRole(Role.STUDENT);
+            users.add(user);
+        }
+        return users;
+    }
+    
+    ScholarshipApplication application(User user, Scholarship scholarship) {
+        ScholarshipApplication application = new ScholarshipApplication(user, scholarship,
+            text(800, 2500), text(60, 250), text(120, 250), text(60, 250));
+        List<String> documents = new ArrayList<>();
+        for (int d = 2 + random.nextInt(3); d > 0; d--) {
+            documents.add("https://files.example.com/" + Long.toHexString(random.nextLong()) + ".pdf");
+        }
+        application.setDocuments(documents);
+        application.setStatus(ApplicationStatus.values()[random.nextInt(ApplicationStatus.values().length)]);
+        application.setApplicationDate(LocalDateTime.now().minusMinutes(random.nextInt(60 * 24 * 90)));
+        return application;
+    }
+    
+    // Detached object graphs with ids, for serialization
+    List<ScholarshipApplication> detachedApplications(int count) {
+        List<Scholarship> scholarships = scholarships(Math.max(1, count / 10));
+        List<User> users = users(count);
+        for (int i = 0; i < scholarships.size(); i++) {
+            scholarships.get(i).setId((long) i + 1);
+        }
+        List<ScholarshipApplication> applications = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.get(i).setId((long) i + 1);
+            ScholarshipApplication application = application(users.get(i), scholarships.get(random.nextInt(scholarships.size())));
+            application.setId((long) i + 1);
+            applications.add(application);
+        }
+        return applications;
+    }
+    
+    private String text(int minLength, int maxLength) {
+        int length = minLength + random.nextInt(maxLength - minLength + 1);
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            if (!text.isEmpty()) {
+                text.append(random.nextInt(12) == 0 ? ". " : " ");
+            }
+            text.append(words[random.nextInt(words.length)]);
+        }
+        text.setLength(Math.min(text.length(), maxLength));
+        return text.toString();
+    }
+}
@@ -0,0 +1,56 @@
+package com.sports.scholarship.bench;
+
+import org.openjdk.jmh.Main;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// Entry point of benchmarks.jar: plain JMH, except that results go to results/<label>.json
+// unless a result file or format is given. The label is -Dbench.label, else the short commit
+// id of the working tree, else a timestamp. Compare two runs with CompareResults.
+public final class BenchmarkRunner {
+    
+    private static final Set<String> OWN_OUTPUT_FLAGS = Set.of("-rf", "-rff", "-h", "-l", "-lp", "-lrf", "-lprof");
+    
+    private BenchmarkRunner() {}
+    
+    public static void main(String[] args) throws Exception {
+        for (String arg : args) {
+            if (OWN_OUTPUT_FLAGS.contains(arg)) {
+                Main.main(args);
+                return;
+            }
+        }
+        Path results = Path.of("results", label() + ".json");
+        Files.createDirectories(results.getParent());
+        List<String> jmhArgs = new ArrayList<>(List.of(args));
+        jmhArgs.addAll(List.of("-rf", "json", "-rff", results.toString()));
+        Main.main(jmhArgs.toArray(String[]::new));
+    }
+    
+    private static String label() {
+        String label = System.getProperty("bench.label");
+        if (label != null && !label.isBlank()) {
+            return label;
+        }
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            String commit = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            if (git.waitFor() == 0 && !commit.isEmpty()) {
+                return commit;
+            }
+        } catch (IOException e) {
+            // No git on the path; fall through to a timestamp
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+    }
+}
@@ -0,0 +1,89 @@
+package com.sports.scholarship.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Compares two JMH JSON result files, e.g. results/<old commit>.json results/<new commit>.json.
+// A change counts only when the two scores' error intervals do not overlap; the exit status is
+// 1 when any benchmark got worse, so the check can gate a build.
+//   java -cp target/benchmarks.jar com.sports.scholarship.bench.CompareResults old.json new.json
+public final class CompareResults {
+    
+    private record Score(String mode, double score, double error, String unit) {
+        
+        // Throughput is better higher, the time modes lower
+        boolean isWorseThan(Score baseline) {
+            boolean higherIsBetter = mode.equals("thrpt");
+            return higherIsBetter
+                ? score + error < baseline.score - baseline.error
+                : score - error > baseline.score + baseline.error;
+        }
+        
+        boolean isBetterThan(Score baseline) {
+            return baseline.isWorseThan(this);
+        }
+    }
+    
+    private CompareResults() {}
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: CompareResults <baseline.json> <candidate.json>");
+            System.exit(2);
+        }
+        Map<String, Score> baseline = read(Path.of(args[0]));
+        Map<String, Score> candidate = read(Path.of(args[1]));
+        
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s%n", "benchmark", "baseline", "candidate", "change");
+        for (Map.Entry<String, Score> entry : candidate.entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            Score after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s  new%n", entry.getKey(), "-", after.score(), "");
+                continue;
+            }
+            double change = (after.score() - before.score()) / before.score() * 100;
+            String verdict = "";
+            if (after.isWorseThan(before)) {
+                verdict = "  WORSE";
+                regressions++;
+            } else if (after.isBetterThan(before)) {
+                verdict = "  better";
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%%s  (%s)%n",
+                entry.getKey(), before.score(), after.score(), change, verdict, after.unit());
+        }
+        for (String removed : baseline.keySet()) {
+            if (!candidate.containsKey(removed)) {
+                System.out.printf("%-70s %14.3f %14s %9s  gone%n", removed, baseline.get(removed).score(), "-", "");
+            }
+        }
+        if (regressions > 0) {
+            System.out.println(regressions + " benchmark(s) got worse");
+            System.exit(1);
+        }
+    }
+    
+    // Keyed by benchmark name (package dropped) plus its parameters
+    private static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            String name = run.get("benchmark").asText().replace(CompareResults.class.getPackageName() + ".", "");
+            Map<String, String> params = new TreeMap<>();
+            run.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            String key = params.isEmpty() ? name : name + " " + params;
+            JsonNode metric = run.get("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0);
+            scores.put(key, new Score(run.get("mode").asText(), metric.get("score").asDouble(),
+                Double.isNaN(error) ? 0 : error, metric.get("scoreUnit").asText()));
+        }
+        return scores;
+    }
+}
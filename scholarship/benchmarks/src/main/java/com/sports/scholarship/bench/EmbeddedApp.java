@@ -0,0 +1,39 @@
+package com.sports.scholarship.bench;
+
+import com.sports.scholarship.ScholarshipPortalApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// The full application context without a web server, on an in-memory H2 database. Settings are
+// passed as command-line arguments so they win over the app's application.properties.
+final class EmbeddedApp {
+    
+    private EmbeddedApp() {}
+    
+    static ConfigurableApplicationContext start(String database, Map<String, String> overrides) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:" + database + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+        // The fixtures trip the slow-query log on a cold JVM; it is noise here
+        properties.put("db.slow-query.threshold", "PT1H");
+        properties.putAll(overrides);
+        
+        List<String> args = new ArrayList<>();
+        properties.forEach((key, value) -> args.add("--" + key + "=" + value));
+        return new SpringApplicationBuilder(ScholarshipPortalApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(args.toArray(String[]::new));
+    }
+}
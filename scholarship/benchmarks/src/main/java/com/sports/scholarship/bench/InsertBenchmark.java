@@ -0,0 +1,72 @@
+package com.sports.scholarship.bench;
+
+import com.sports.scholarship.entity.Scholarship;
+import com.sports.scholarship.repository.ScholarshipRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Rows per second for saveAll of 500 scholarships in one transaction, as bulk import writes a
+// chunk. Pooled sequence ids let Hibernate batch the inserts; jdbcBatchSize=1 is the unbatched
+// baseline to compare against.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class InsertBenchmark {
+    
+    private static final int ROWS = 500;
+    
+    @Param({"1", "50"})
+    public int jdbcBatchSize;
+    
+    private ConfigurableApplicationContext context;
+    private ScholarshipRepository scholarshipRepository;
+    private TransactionTemplate transactionTemplate;
+    private BenchmarkData data;
+    private List<Scholarship> rows;
+    
+    @Setup
+    public void setUp() {
+        context = EmbeddedApp.start("inserts", Map.of(
+            "spring.jpa.properties.hibernate.jdbc.batch_size", String.valueOf(jdbcBatchSize)));
+        scholarshipRepository = context.getBean(ScholarshipRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        data = new BenchmarkData(18);
+    }
+    
+    @Setup(Level.Invocation)
+    public void prepareRows() {
+        rows = data.scholarships(ROWS);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insertScholarships() {
+        transactionTemplate.executeWithoutResult(status -> scholarshipRepository.saveAll(rows));
+    }
+}
@@ -0,0 +1,95 @@
+package com.sports.scholarship.bench;
+
+import com.sports.scholarship.entity.Role;
+import com.sports.scholarship.entity.User;
+import com.sports.scholarship.security.JwtPrincipal;
+import com.sports.scholarship.security.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Token issue and check. verifyCached is what the auth filter costs for a returning token,
+// verifyUncached the first request with a token, validateToken the older two-parse check.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+    
+    private AnnotationConfigApplicationContext cachingContext;
+    private AnnotationConfigApplicationContext nonCachingContext;
+    private JwtUtil jwtUtil;
+    private JwtUtil nonCachingJwtUtil;
+    private User user;
+    private UserDetails userDetails;
+    private String token;
+    
+    @Setup
+    public void setUp() {
+        cachingContext = context(10_000);
+        nonCachingContext = context(0);
+        jwtUtil = cachingContext.getBean(JwtUtil.class);
+        nonCachingJwtUtil = nonCachingContext.getBean(JwtUtil.class);
+        
+        user = new User("athlete1", "athlete1@example.com", "unused", "Athlete One", "+1-555-1001");
+        user.setId(42L);
+        user.setRole(Role.STUDENT);
+        userDetails = org.springframework.security.core.userdetails.User.withUsername(user.getUsername())
+            .password("unused").roles(user.getRole().name()).build();
+        token = jwtUtil.generateToken(user);
+        jwtUtil.verify(token);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        cachingContext.close();
+        nonCachingContext.close();
+    }
+    
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+    
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, userDetails);
+    }
+    
+    @Benchmark
+    public JwtPrincipal verifyCached() {
+        return jwtUtil.verify(token);
+    }
+    
+    @Benchmark
+    public JwtPrincipal verifyUncached() {
+        return nonCachingJwtUtil.verify(token);
+    }
+    
+    private static AnnotationConfigApplicationContext context(int cacheSize) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+            "jwt.secret", "benchmarkSecretKeyThatIsAtLeast32BytesLong",
+            "jwt.expiration", "86400000",
+            "jwt.verified-cache-size", String.valueOf(cacheSize))));
+        context.register(JwtUtil.class);
+        context.refresh();
+        return context;
+    }
+}
@@ -0,0 +1,74 @@
+package com.sports.scholarship.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sports.scholarship.dto.ApplicationDetailDto;
+import com.sports.scholarship.dto.ApplicationSummaryDto;
+import com.sports.scholarship.dto.ScholarshipDto;
+import com.sports.scholarship.entity.Scholarship;
+import com.sports.scholarship.entity.ScholarshipApplication;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+// Bytes on the wire for the bodies SerializationBenchmark times, per format, plain and gzipped,
+// with the share of the JSON size. Same seeded data, so the numbers line up with the timings.
+//   java -cp target/benchmarks.jar com.sports.scholarship.bench.PayloadSizes [size ...]
+public final class PayloadSizes {
+    
+    private static final List<String> FORMATS = List.of("json", "cbor", "smile");
+    
+    private PayloadSizes() {}
+    
+    public static void main(String[] args) throws IOException {
+        int[] sizes = args.length == 0 ? new int[] {20, 100, 1000} : new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i]);
+        }
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        for (String format : FORMATS) {
+            mappers.put(format, SerializationBenchmark.mapper(format));
+        }
+        
+        System.out.printf("%-22s %6s %-6s %10s %7s %10s %7s%n", "body", "size", "format", "bytes", "of json", "gzip", "of json");
+        for (int size : sizes) {
+            // As SerializationBenchmark.setUp builds them
+            BenchmarkData data = new BenchmarkData(18);
+            List<Scholarship> scholarships = data.scholarships(size);
+            for (int i = 0; i < scholarships.size(); i++) {
+                scholarships.get(i).setId((long) i + 1);
+            }
+            List<ScholarshipApplication> applications = data.detachedApplications(size);
+            
+            Map<String, Object> bodies = new LinkedHashMap<>();
+            bodies.put("scholarshipList", scholarships.stream().map(ScholarshipDto::from).toList());
+            bodies.put("applicationSummaryList", applications.stream().map(ApplicationSummaryDto::from).toList());
+            bodies.put("applicationDetailList", applications.stream().map(ApplicationDetailDto::from).toList());
+            for (Map.Entry<String, Object> body : bodies.entrySet()) {
+                long json = 0;
+                long jsonGzip = 0;
+                for (String format : FORMATS) {
+                    byte[] bytes = mappers.get(format).writeValueAsBytes(body.getValue());
+                    long gzip = gzip(bytes).length;
+                    if (format.equals("json")) {
+                        json = bytes.length;
+                        jsonGzip = gzip;
+                    }
+                    System.out.printf("%-22s %6d %-6s %10d %6.0f%% %10d %6.0f%%%n", body.getKey(), size, format,
+                        bytes.length, 100.0 * bytes.length / json, gzip, 100.0 * gzip / jsonGzip);
+                }
+            }
+        }
+    }
+    
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,86 @@
+package com.sports.scholarship.bench;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.sports.scholarship.dto.ApplicationDetailDto;
+import com.sports.scholarship.dto.ApplicationSummaryDto;
+import com.sports.scholarship.dto.ScholarshipDto;
+import com.sports.scholarship.entity.Scholarship;
+import com.sports.scholarship.entity.ScholarshipApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Response bodies as the controllers build them: entity list -> DTO list -> bytes, with an
+// ObjectMapper configured the way Boot configures the app's. 20 is a page, 100 the catalog,
+// 1000 a large admin listing. format is the negotiated encoding (BinaryFormatsConfig); the
+// sizes each produces are printed by PayloadSizes.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    
+    @Param({"20", "100", "1000"})
+    public int size;
+    
+    @Param({"json", "cbor", "smile"})
+    public String format;
+    
+    private ObjectMapper objectMapper;
+    private List<Scholarship> scholarships;
+    private List<ScholarshipApplication> applications;
+    
+    @Setup
+    public void setUp() {
+        objectMapper = mapper(format);
+        BenchmarkData data = new BenchmarkData(18);
+        scholarships = data.scholarships(size);
+        for (int i = 0; i < scholarships.size(); i++) {
+            scholarships.get(i).setId((long) i + 1);
+        }
+        applications = data.detachedApplications(size);
+    }
+    
+    @Benchmark
+    public byte[] scholarshipList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(scholarships.stream().map(ScholarshipDto::from).toList());
+    }
+    
+    @Benchmark
+    public byte[] applicationSummaryList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(applications.stream().map(ApplicationSummaryDto::from).toList());
+    }
+    
+    @Benchmark
+    public byte[] applicationDetailList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(applications.stream().map(ApplicationDetailDto::from).toList());
+    }
+    
+    // Same builder, same settings, different factory, as BinaryFormatsConfig does it
+    static ObjectMapper mapper(String format) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        return switch (format) {
+            case "json" -> builder.build();
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+    }
+}
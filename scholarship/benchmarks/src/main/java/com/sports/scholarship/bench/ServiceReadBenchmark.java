@@ -0,0 +1,151 @@
+package com.sports.scholarship.bench;
+
+import com.sports.scholarship.dto.CursorPage;
+import com.sports.scholarship.dto.ScholarshipSearchCriteria;
+import com.sports.scholarship.dto.ScholarshipSearchResult;
+import com.sports.scholarship.entity.ApplicationStatus;
+import com.sports.scholarship.entity.Scholarship;
+import com.sports.scholarship.entity.ScholarshipApplication;
+import com.sports.scholarship.entity.User;
+import com.sports.scholarship.repository.ScholarshipApplicationRepository;
+import com.sports.scholarship.repository.UserRepository;
+import com.sports.scholarship.service.ScholarshipApplicationService;
+import com.sports.scholarship.service.ScholarshipService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Service read paths on an embedded H2 database holding 100 scholarships, 2,000 users and
+// 10,000 applications. Catalog and search are served from memory; the rest go to the database.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceReadBenchmark {
+    
+    private static final int SCHOLARSHIPS = 100;
+    private static final int USERS = 2_000;
+    private static final int APPLICATIONS_PER_USER = 5;
+    
+    private ConfigurableApplicationContext context;
+    private ScholarshipService scholarshipService;
+    private ScholarshipApplicationService applicationService;
+    private ScholarshipSearchCriteria searchCriteria;
+    
+    private long[] scholarshipIds;
+    private long[] userIds;
+    private long[] applicationIds;
+    
+    @Setup
+    public void setUp() {
+        context = EmbeddedApp.start("reads", Map.of());
+        scholarshipService = context.getBean(ScholarshipService.class);
+        applicationService = context.getBean(ScholarshipApplicationService.class);
+        seed(context.getBean(UserRepository.class), context.getBean(ScholarshipApplicationRepository.class),
+            context.getBean(TransactionTemplate.class));
+        
+        searchCriteria = new ScholarshipSearchCriteria();
+        searchCriteria.setQ("coach");
+        searchCriteria.setSport(List.of("Football"));
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public List<Scholarship> availableScholarships() {
+        return scholarshipService.getAvailableScholarships();
+    }
+    
+    @Benchmark
+    public ScholarshipSearchResult searchScholarships() {
+        return scholarshipService.searchScholarships(searchCriteria);
+    }
+    
+    @Benchmark
+    public List<Scholarship> scholarshipsBySport() {
+        return scholarshipService.getScholarshipsBySport(BenchmarkData.SPORTS[ThreadLocalRandom.current().nextInt(BenchmarkData.SPORTS.length)]);
+    }
+    
+    @Benchmark
+    public Optional<Scholarship> scholarshipById() {
+        return scholarshipService.getScholarshipById(pick(scholarshipIds));
+    }
+    
+    @Benchmark
+    public List<ScholarshipApplication> userApplications() {
+        return applicationService.getUserApplications(pick(userIds));
+    }
+    
+    @Benchmark
+    public Optional<ScholarshipApplication> applicationById() {
+        return applicationService.getApplicationById(pick(applicationIds));
+    }
+    
+    @Benchmark
+    public CursorPage<ScholarshipApplication> scholarshipApplicationsPage() {
+        return applicationService.getScholarshipApplicationsPage(pick(scholarshipIds), null, 20, null);
+    }
+    
+    @Benchmark
+    public CursorPage<ScholarshipApplication> reviewQueuePage() {
+        return applicationService.getApplicationsByStatusPage(ApplicationStatus.PENDING, null, null, 20, null);
+    }
+    
+    private static long pick(long[] ids) {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+    
+    private void seed(UserRepository userRepository, ScholarshipApplicationRepository applicationRepository,
+                      TransactionTemplate transactionTemplate) {
+        BenchmarkData data = new BenchmarkData(18);
+        // Through the service, so the catalog cache and text index see them
+        List<Scholarship> scholarships = new ArrayList<>();
+        for (Scholarship scholarship : data.scholarships(SCHOLARSHIPS)) {
+            scholarships.add(scholarshipService.createScholarship(scholarship));
+        }
+        List<User> users = transactionTemplate.execute(status -> userRepository.saveAll(data.users(USERS)));
+        
+        Random random = new Random(18);
+        List<Long> savedApplicationIds = new ArrayList<>();
+        List<Scholarship> choices = new ArrayList<>(scholarships);
+        for (int from = 0; from < users.size(); from += 200) {
+            List<ScholarshipApplication> chunk = new ArrayList<>();
+            for (User user : users.subList(from, Math.min(from + 200, users.size()))) {
+                Collections.shuffle(choices, random);
+                for (Scholarship scholarship : choices.subList(0, APPLICATIONS_PER_USER)) {
+                    chunk.add(data.application(user, scholarship));
+                }
+            }
+            transactionTemplate.executeWithoutResult(status ->
+                applicationRepository.saveAll(chunk).forEach(saved -> savedApplicationIds.add(saved.getId())));
+        }
+        
+        scholarshipIds = scholarships.stream().mapToLong(Scholarship::getId).toArray();
+        userIds = users.stream().mapToLong(User::getId).toArray();
+        applicationIds = savedApplicationIds.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,226 @@
+package com.sports.scholarship.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// The JSON and HTML reports of a run, and a side-by-side HTML page for several runs, e.g. the
+// same stages against a platform-thread and a virtual-thread instance:
+//   java -cp target/loadtest.jar com.sports.scholarship.load.LoadReport reports/platform.json reports/virtual.json
+public final class LoadReport {
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final String[] COLORS = {"#1f77b4", "#d62728", "#2ca02c", "#9467bd", "#ff7f0e", "#17becf"};
+    
+    // Latencies in milliseconds
+    record Latency(double p50, double p90, double p99, double p999, double max, double mean) {
+        
+        static Latency of(Histogram histogram) {
+            if (histogram.getTotalCount() == 0) {
+                return new Latency(0, 0, 0, 0, 0, 0);
+            }
+            return new Latency(millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()), histogram.getMean() / 1_000);
+        }
+        
+        private static double millis(long micros) {
+            return micros / 1_000.0;
+        }
+    }
+    
+    record EndpointReport(String endpoint, long requests, long errors, Map<String, Long> statuses, Latency latency) {}
+    
+    record StageReport(double targetRate, long durationSeconds, double achievedRate, long sessionsStarted,
+                       long sessionsCompleted, long sessionsFailed, long sessionsDropped, long requests, long errors,
+                       double errorRate, Latency latency, List<EndpointReport> endpoints, List<String> failures) {
+        
+        boolean passed() {
+            return failures.isEmpty();
+        }
+    }
+    
+    // sustainedRate: the highest stage rate before the first failed stage; breakingRate: that
+    // failed stage's rate, null when every stage passed
+    record RunReport(String label, String baseUrl, String startedAt, String javaVersion, Map<String, Integer> mix,
+                     double thinkTimeSeconds, double sloP99Millis, double maxErrorRate, List<StageReport> stages,
+                     Double sustainedRate, Double breakingRate) {}
+    
+    private LoadReport() {}
+    
+    public static void main(String[] args) throws IOException {
+        List<RunReport> runs = new ArrayList<>();
+        Path output = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-o") && i + 1 < args.length) {
+                output = Path.of(args[++i]);
+            } else {
+                runs.add(MAPPER.readValue(Path.of(args[i]).toFile(), RunReport.class));
+            }
+        }
+        if (runs.isEmpty()) {
+            System.err.println("usage: LoadReport [-o compare.html] <report.json> [<report.json> ...]");
+            System.exit(2);
+        }
+        if (output == null) {
+            output = Path.of(args[args.length - 1]).resolveSibling("compare.html");
+        }
+        Files.writeString(output, html(runs), StandardCharsets.UTF_8);
+        for (RunReport run : runs) {
+            System.out.println(run.label() + ": " + summary(run));
+        }
+        System.out.println("Wrote " + output);
+    }
+    
+    // Writes <label>.json and <label>.html, returning the HTML file
+    static Path write(RunReport run, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        MAPPER.writeValue(directory.resolve(run.label() + ".json").toFile(), run);
+        Path html = directory.resolve(run.label() + ".html");
+        Files.writeString(html, html(List.of(run)), StandardCharsets.UTF_8);
+        return html;
+    }
+    
+    static String summary(RunReport run) {
+        if (run.breakingRate() == null) {
+            return "held every stage, up to " + rate(run.sustainedRate()) + " sessions/s";
+        }
+        return "sustained " + (run.sustainedRate() == null ? "no stage" : rate(run.sustainedRate()) + " sessions/s")
+            + ", failed at " + rate(run.breakingRate()) + " sessions/s";
+    }
+    
+    private static String html(List<RunReport> runs) {
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>Load test: ")
+            .append(escape(String.join(" vs ", runs.stream().map(RunReport::label).toList())))
+            .append("</title>\n<style>body{font-family:sans-serif;margin:2em;color:#222}table{border-collapse:collapse;margin:1em 0}"
+                + "th,td{border:1px solid #ccc;padding:4px 8px;text-align:right}th:first-child,td:first-child{text-align:left}"
+                + ".fail{background:#fde0e0}.pass{background:#e3f4e3}small{color:#666}</style></head><body>\n");
+        html.append("<h1>Load test</h1>\n<table><tr><th>Run</th><th>Instance</th><th>Started</th><th>Java</th><th>Result</th></tr>\n");
+        for (RunReport run : runs) {
+            html.append("<tr class=\"").append(run.breakingRate() == null ? "pass" : "fail").append("\"><td>")
+                .append(escape(run.label())).append("</td><td>").append(escape(run.baseUrl())).append("</td><td>")
+                .append(escape(run.startedAt())).append("</td><td>").append(escape(run.javaVersion())).append("</td><td>")
+                .append(escape(summary(run))).append("</td></tr>\n");
+        }
+        html.append("</table>\n");
+        html.append(chart(runs));
+        for (RunReport run : runs) {
+            stages(html, run);
+        }
+        return html.append("</body></html>\n").toString();
+    }
+    
+    // p99 (solid) and p50 (dashed) per stage, one colour per run, with the p99 objective
+    private static String chart(List<RunReport> runs) {
+        int width = 760, height = 320, left = 60, right = 20, top = 20, bottom = 50;
+        int stages = runs.stream().mapToInt(run -> run.stages().size()).max().orElse(0);
+        if (stages == 0) {
+            return "";
+        }
+        double slo = runs.get(0).sloP99Millis();
+        double maxLatency = Math.max(slo * 1.2, runs.stream().flatMap(run -> run.stages().stream())
+            .mapToDouble(stage -> stage.latency().p99()).max().orElse(1));
+        double xStep = stages > 1 ? (double) (width - left - right) / (stages - 1) : 0;
+        StringBuilder svg = new StringBuilder();
+        svg.append(String.format(Locale.ROOT, "<svg width=\"%d\" height=\"%d\" style=\"font-size:11px\">\n", width, height));
+        svg.append(String.format(Locale.ROOT, "<line x1=\"%d\" y1=\"%d\" x2=\"%d\" y2=\"%d\" stroke=\"#999\"/>\n",
+            left, height - bottom, width - right, height - bottom));
+        svg.append(String.format(Locale.ROOT, "<line x1=\"%d\" y1=\"%d\" x2=\"%d\" y2=\"%d\" stroke=\"#999\"/>\n",
+            left, top, left, height - bottom));
+        for (int tick = 0; tick <= 4; tick++) {
+            double value = maxLatency * tick / 4;
+            double y = y(value, maxLatency, height, top, bottom);
+            svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%.1f\" text-anchor=\"end\">%.0f ms</text>\n", left - 4, y + 4, value));
+        }
+        double sloY = y(slo, maxLatency, height, top, bottom);
+        svg.append(String.format(Locale.ROOT, "<line x1=\"%d\" y1=\"%.1f\" x2=\"%d\" y2=\"%.1f\" stroke=\"#e99\" stroke-dasharray=\"2,3\"/>"
+            + "<text x=\"%d\" y=\"%.1f\" text-anchor=\"end\" fill=\"#c66\">p99 objective</text>\n",
+            left, sloY, width - right, sloY, width - right, sloY - 4));
+        List<StageReport> axis = runs.stream().max((a, b) -> a.stages().size() - b.stages().size()).get().stages();
+        for (int i = 0; i < axis.size(); i++) {
+            svg.append(String.format(Locale.ROOT, "<text x=\"%.1f\" y=\"%d\" text-anchor=\"middle\">%s/s</text>\n",
+                left + i * xStep, height - bottom + 16, rate(axis.get(i).targetRate())));
+        }
+        svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%d\" text-anchor=\"middle\">session arrival rate</text>\n",
+            (left + width - right) / 2, height - 8));
+        for (int r = 0; r < runs.size(); r++) {
+            String color = COLORS[r % COLORS.length];
+            List<StageReport> runStages = runs.get(r).stages();
+            svg.append(polyline(runStages, true, left, xStep, maxLatency, height, top, bottom, color));
+            svg.append(polyline(runStages, false, left, xStep, maxLatency, height, top, bottom, color));
+            svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%d\" fill=\"%s\">%s</text>\n",
+                left + 10, top + 14 * (r + 1), color, escape(runs.get(r).label())));
+        }
+        return svg.append("</svg>\n<p><small>Solid: p99, dashed: p50, per stage; latency counted from when each request was due.</small></p>\n").toString();
+    }
+    
+    private static String polyline(List<StageReport> stages, boolean p99, int left, double xStep, double maxLatency, int height, int top, int bottom,
+                                   String color) {
+        StringBuilder points = new StringBuilder();
+        for (int i = 0; i < stages.size(); i++) {
+            Latency latency = stages.get(i).latency();
+            double value = p99 ? latency.p99() : latency.p50();
+            points.append(String.format(Locale.ROOT, "%.1f,%.1f ", left + i * xStep, y(value, maxLatency, height, top, bottom)));
+        }
+        return String.format(Locale.ROOT, "<polyline fill=\"none\" stroke=\"%s\" stroke-width=\"2\"%s points=\"%s\"/>\n",
+            color, p99 ? "" : " stroke-dasharray=\"5,4\"", points.toString().trim());
+    }
+    
+    private static double y(double value, double max, int height, int top, int bottom) {
+        return height - bottom - Math.min(value, max) / max * (height - top - bottom);
+    }
+    
+    private static void stages(StringBuilder html, RunReport run) {
+        html.append("<h2>").append(escape(run.label())).append("</h2>\n<p><small>mix ").append(escape(run.mix().toString()))
+            .append(", think time ").append(run.thinkTimeSeconds()).append(" s, objective p99 &le; ")
+            .append(run.sloP99Millis()).append(" ms and errors &le; ").append(run.maxErrorRate() * 100).append("%</small></p>\n");
+        html.append("<table><tr><th>Stage</th><th>Target /s</th><th>Achieved /s</th><th>Sessions</th><th>Failed</th><th>Dropped</th>"
+            + "<th>Requests</th><th>Errors</th><th>p50 ms</th><th>p90 ms</th><th>p99 ms</th><th>p99.9 ms</th><th>max ms</th><th>Result</th></tr>\n");
+        for (int i = 0; i < run.stages().size(); i++) {
+            StageReport stage = run.stages().get(i);
+            html.append("<tr class=\"").append(stage.passed() ? "pass" : "fail").append("\"><td>").append(i + 1)
+                .append("</td><td>").append(rate(stage.targetRate())).append("</td><td>").append(rate(stage.achievedRate()))
+                .append("</td><td>").append(stage.sessionsStarted()).append("</td><td>").append(stage.sessionsFailed())
+                .append("</td><td>").append(stage.sessionsDropped()).append("</td><td>").append(stage.requests())
+                .append("</td><td>").append(String.format(Locale.ROOT, "%.2f%%", stage.errorRate() * 100))
+                .append(latencyCells(stage.latency())).append("<td>")
+                .append(stage.passed() ? "ok" : escape(String.join("; ", stage.failures()))).append("</td></tr>\n");
+        }
+        html.append("</table>\n");
+        for (int i = 0; i < run.stages().size(); i++) {
+            StageReport stage = run.stages().get(i);
+            html.append("<h3>Stage ").append(i + 1).append(": ").append(rate(stage.targetRate())).append(" sessions/s</h3>\n")
+                .append("<table><tr><th>Endpoint</th><th>Requests</th><th>Errors</th><th>Statuses</th>"
+                    + "<th>p50 ms</th><th>p90 ms</th><th>p99 ms</th><th>p99.9 ms</th><th>max ms</th></tr>\n");
+            for (EndpointReport endpoint : stage.endpoints()) {
+                html.append("<tr><td>").append(escape(endpoint.endpoint())).append("</td><td>").append(endpoint.requests())
+                    .append("</td><td>").append(endpoint.errors()).append("</td><td>").append(escape(endpoint.statuses().toString()))
+                    .append("</td>").append(latencyCells(endpoint.latency())).append("</tr>\n");
+            }
+            html.append("</table>\n");
+        }
+    }
+    
+    private static String latencyCells(Latency latency) {
+        return String.format(Locale.ROOT, "<td>%.1f</td><td>%.1f</td><td>%.1f</td><td>%.1f</td><td>%.1f</td>",
+            latency.p50(), latency.p90(), latency.p99(), latency.p999(), latency.max());
+    }
+    
+    private static String rate(double rate) {
+        return rate == Math.rint(rate) ? String.valueOf((long) rate) : String.format(Locale.ROOT, "%.1f", rate);
+    }
+    
+    private static String escape(String text) {
+        return text == null ? "" : text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
@@ -0,0 +1,185 @@
+package com.sports.scholarship.load;
+
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-model load generator for a running instance. Sessions (see Scenarios) arrive as a
+// Poisson process at each stage's rate whether or not earlier ones have finished, the way
+// students turn up on deadline day, so a slow portal sees the queue grow instead of the
+// tester politely backing off. Stages step the rate up until one misses the objective
+// (p99 latency or error share), which is the rate the portal falls over at.
+//   java -jar target/loadtest.jar --base-url http://localhost:8080 --stages 10:60,20:60,40:60
+public final class LoadTest {
+    
+    private final LoadTestOptions options;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    
+    private LoadTest(LoadTestOptions options) {
+        this.options = options;
+    }
+    
+    public static void main(String[] args) throws Exception {
+        if (List.of(args).contains("--help")) {
+            System.out.print(LoadTestOptions.USAGE);
+            return;
+        }
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadTestOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        LoadReport.RunReport report = new LoadTest(options).run();
+        Path html = LoadReport.write(report, options.reportDir());
+        System.out.println(LoadReport.summary(report));
+        System.out.println("Report: " + html);
+        System.exit(0);
+    }
+    
+    private LoadReport.RunReport run() {
+        Map<String, Integer> mix = new LinkedHashMap<>(options.mix());
+        if (!options.hasAdmin() && mix.remove("review") != null) {
+            System.out.println("No --admin-user/--admin-password given; leaving the review scenario out");
+        }
+        String[] scenarioNames = mix.keySet().toArray(String[]::new);
+        int[] cumulative = new int[scenarioNames.length];
+        int total = 0;
+        for (int i = 0; i < scenarioNames.length; i++) {
+            total += mix.get(scenarioNames[i]);
+            cumulative[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("The scenario mix has no weight");
+        }
+        
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()), runnable -> {
+            Thread thread = new Thread(runnable, "loadtest");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Scenarios scenarios = new Scenarios(new PortalClient(options.baseUrl(), options.timeout(), executor), options);
+        SplittableRandom random = new SplittableRandom(options.seed());
+        String startedAt = OffsetDateTime.now().truncatedTo(ChronoUnit.SECONDS).toString();
+        
+        List<StageMetrics> stages = new ArrayList<>();
+        for (LoadTestOptions.Stage stage : options.stages()) {
+            StageMetrics metrics = new StageMetrics(stage);
+            stages.add(metrics);
+            long meanGapNanos = (long) (1_000_000_000 / stage.rate());
+            long due = System.nanoTime();
+            long end = due + stage.duration().toNanos();
+            while (due < end) {
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (inFlight.get() >= options.maxInFlight()) {
+                    metrics.sessionsDropped.increment();
+                } else {
+                    int pick = random.nextInt(total);
+                    int index = 0;
+                    while (cumulative[index] <= pick) {
+                        index++;
+                    }
+                    start(scenarios, scenarioNames[index], metrics, due, random.split());
+                }
+                due += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+            }
+            LoadReport.StageReport sofar = evaluate(metrics);
+            System.out.printf("stage %d/%d  %s  %s%n", stages.size(), options.stages().size(), line(sofar),
+                sofar.passed() ? "ok" : String.join("; ", sofar.failures()));
+            if (options.stopOnFailure() && !sofar.passed()) {
+                break;
+            }
+        }
+        
+        // Sessions still running belong to the stage they arrived in
+        long deadline = System.nanoTime() + options.timeout().toNanos() * 4 + options.thinkTime().toNanos() * 10;
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(50_000_000);
+        }
+        executor.shutdownNow();
+        
+        List<LoadReport.StageReport> reports = stages.stream().map(this::evaluate).toList();
+        Double sustained = null;
+        Double breaking = null;
+        for (LoadReport.StageReport report : reports) {
+            if (!report.passed()) {
+                breaking = report.targetRate();
+                break;
+            }
+            sustained = sustained == null ? report.targetRate() : Math.max(sustained, report.targetRate());
+        }
+        return new LoadReport.RunReport(options.label(), options.baseUrl().toString(), startedAt,
+            System.getProperty("java.version"), mix, options.thinkTime().toMillis() / 1000.0,
+            options.sloP99().toNanos() / 1_000_000.0, options.maxErrorRate(), reports, sustained, breaking);
+    }
+    
+    private void start(Scenarios scenarios, String scenario, StageMetrics metrics, long due, SplittableRandom random) {
+        inFlight.incrementAndGet();
+        metrics.sessionsStarted.increment();
+        CompletableFuture<Void> session;
+        try {
+            session = scenarios.run(scenario, metrics, due, random);
+        } catch (RuntimeException e) {
+            session = CompletableFuture.failedFuture(e);
+        }
+        session.whenComplete((done, failure) -> {
+            Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+            if (cause == null || cause instanceof PortalClient.RequestFailed rejected && !rejected.error) {
+                metrics.sessionsCompleted.increment();
+            } else {
+                metrics.sessionsFailed.increment();
+            }
+            inFlight.decrementAndGet();
+        });
+    }
+    
+    private LoadReport.StageReport evaluate(StageMetrics metrics) {
+        long requests = metrics.requests();
+        long errors = metrics.errors();
+        double errorRate = requests == 0 ? 0 : (double) errors / requests;
+        LoadReport.Latency latency = LoadReport.Latency.of(metrics.all);
+        long seconds = metrics.stage.duration().toSeconds();
+        double achieved = seconds == 0 ? 0 : (double) metrics.sessionsStarted.sum() / seconds;
+        
+        List<String> failures = new ArrayList<>();
+        if (errorRate > options.maxErrorRate()) {
+            failures.add(String.format("errors %.2f%%", errorRate * 100));
+        }
+        if (latency.p99() > options.sloP99().toNanos() / 1_000_000.0) {
+            failures.add(String.format("p99 %.0f ms", latency.p99()));
+        }
+        if (metrics.sessionsDropped.sum() > 0) {
+            failures.add(metrics.sessionsDropped.sum() + " arrivals dropped at --max-in-flight");
+        }
+        
+        List<LoadReport.EndpointReport> endpoints = new ArrayList<>();
+        metrics.endpoints.forEach((name, endpoint) -> endpoints.add(new LoadReport.EndpointReport(name,
+            endpoint.histogram.getTotalCount(), endpoint.errors(), endpoint.statusCounts(), LoadReport.Latency.of(endpoint.histogram))));
+        return new LoadReport.StageReport(metrics.stage.rate(), seconds, achieved, metrics.sessionsStarted.sum(),
+            metrics.sessionsCompleted.sum(), metrics.sessionsFailed.sum(), metrics.sessionsDropped.sum(), requests, errors,
+            errorRate, latency, endpoints, failures);
+    }
+    
+    private static String line(LoadReport.StageReport stage) {
+        return String.format("%6.1f/s  sessions %6d  requests %7d  p50 %7.1f ms  p99 %8.1f ms  errors %5.2f%%",
+            stage.targetRate(), stage.sessionsStarted(), stage.requests(), stage.latency().p50(), stage.latency().p99(),
+            stage.errorRate() * 100);
+    }
+}
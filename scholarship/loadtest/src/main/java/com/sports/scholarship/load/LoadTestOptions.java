@@ -0,0 +1,143 @@
+package com.sports.scholarship.load;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Command-line options, each given as --name value or --name=value. Users default to the ones
+// the seed profile creates (seed42_0 ... with password123).
+record LoadTestOptions(
+    URI baseUrl,
+    List<Stage> stages,
+    Map<String, Integer> mix,
+    String userPrefix,
+    int userCount,
+    String password,
+    String adminUser,
+    String adminPassword,
+    Duration thinkTime,
+    Duration timeout,
+    int maxInFlight,
+    double maxErrorRate,
+    Duration sloP99,
+    boolean stopOnFailure,
+    String label,
+    Path reportDir,
+    long seed) {
+    
+    static final String USAGE = """
+        usage: java -jar target/loadtest.jar [options]
+          --base-url URL          instance under test (http://localhost:8080)
+          --stages R:S,R:S,...    arrival rate in sessions/s and seconds per stage (5:60,10:60,20:60,40:60,80:60,160:60)
+          --mix name=W,...        scenario weights (browse=55,status=20,apply=12,withdraw=3,review=5,login=5)
+          --user-prefix P         students are P0 .. P<count-1> (seed42_)
+          --user-count N          (10000)
+          --password PW           students' password (password123)
+          --admin-user U          reviewer account; the review scenario is left out without one
+          --admin-password PW
+          --think-time D          mean pause between a session's requests, ISO-8601 (PT1S)
+          --timeout D             per request (PT10S)
+          --max-in-flight N       sessions in flight before new arrivals are dropped (10000)
+          --max-error-rate F      a stage fails above this share of errors (0.01)
+          --slo-p99 D             a stage fails when the p99 latency is above this (PT1S)
+          --stop-on-failure B     stop after the first failed stage (true)
+          --label L               report name (a timestamp)
+          --report-dir DIR        (reports)
+          --seed N                arrivals and choices (42)
+        """;
+    
+    // Target arrival rate of new sessions, held for the duration
+    record Stage(double rate, Duration duration) {}
+    
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int equals = arg.indexOf('=');
+            if (equals > 0) {
+                values.put(arg.substring(2, equals), arg.substring(equals + 1));
+            } else if (i + 1 < args.length) {
+                values.put(arg.substring(2), args[++i]);
+            } else {
+                throw new IllegalArgumentException("Missing value for " + arg);
+            }
+        }
+        
+        LoadTestOptions options = new LoadTestOptions(
+            URI.create(stripSlash(take(values, "base-url", "http://localhost:8080"))),
+            stages(take(values, "stages", "5:60,10:60,20:60,40:60,80:60,160:60")),
+            mix(take(values, "mix", "browse=55,status=20,apply=12,withdraw=3,review=5,login=5")),
+            take(values, "user-prefix", "seed42_"),
+            Integer.parseInt(take(values, "user-count", "10000")),
+            take(values, "password", "password123"),
+            take(values, "admin-user", null),
+            take(values, "admin-password", null),
+            Duration.parse(take(values, "think-time", "PT1S")),
+            Duration.parse(take(values, "timeout", "PT10S")),
+            Integer.parseInt(take(values, "max-in-flight", "10000")),
+            Double.parseDouble(take(values, "max-error-rate", "0.01")),
+            Duration.parse(take(values, "slo-p99", "PT1S")),
+            Boolean.parseBoolean(take(values, "stop-on-failure", "true")),
+            take(values, "label", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))),
+            Path.of(take(values, "report-dir", "reports")),
+            Long.parseLong(take(values, "seed", "42")));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown option(s): " + values.keySet());
+        }
+        if (options.userCount < 1) {
+            throw new IllegalArgumentException("--user-count must be at least 1");
+        }
+        return options;
+    }
+    
+    boolean hasAdmin() {
+        return adminUser != null && adminPassword != null;
+    }
+    
+    private static String take(Map<String, String> values, String name, String fallback) {
+        String value = values.remove(name);
+        return value != null ? value : fallback;
+    }
+    
+    private static String stripSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+    
+    private static List<Stage> stages(String spec) {
+        List<Stage> stages = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] rateAndSeconds = part.trim().split(":");
+            if (rateAndSeconds.length != 2) {
+                throw new IllegalArgumentException("Stage must be rate:seconds, got " + part);
+            }
+            double rate = Double.parseDouble(rateAndSeconds[0]);
+            if (rate <= 0) {
+                throw new IllegalArgumentException("Stage rate must be positive, got " + part);
+            }
+            stages.add(new Stage(rate, Duration.ofSeconds(Long.parseLong(rateAndSeconds[1]))));
+        }
+        return stages;
+    }
+    
+    private static Map<String, Integer> mix(String spec) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] nameAndWeight = part.trim().split("=");
+            if (nameAndWeight.length != 2 || !Scenarios.NAMES.contains(nameAndWeight[0])) {
+                throw new IllegalArgumentException("Mix entries are name=weight with a name from " + Scenarios.NAMES + ", got " + part);
+            }
+            mix.put(nameAndWeight[0], Integer.parseInt(nameAndWeight[1]));
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,119 @@
+package com.sports.scholarship.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+// Asynchronous HTTP calls against the portal, so the number of requests in flight is not capped
+// by a thread pool the way a closed-model tester's would be. Each call is timed from the moment
+// it was due (intendedNanos) and recorded under its endpoint name.
+final class PortalClient {
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http;
+    private final URI baseUrl;
+    private final Duration timeout;
+    private final Executor executor;
+    
+    PortalClient(URI baseUrl, Duration timeout, Executor executor) {
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+        this.executor = executor;
+        this.http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(timeout)
+            .executor(executor)
+            .build();
+    }
+    
+    record Response(int status, JsonNode body) {}
+    
+    // A request the scenario cannot go on from; error is false for a 4xx the client caused
+    static final class RequestFailed extends RuntimeException {
+        
+        final boolean error;
+        
+        RequestFailed(String message, boolean error) {
+            super(message, null, false, false);
+            this.error = error;
+        }
+    }
+    
+    CompletableFuture<Response> get(StageMetrics metrics, String endpoint, String path, String token, long intendedNanos) {
+        return send(metrics, endpoint, request(path, token).GET(), intendedNanos);
+    }
+    
+    CompletableFuture<Response> post(StageMetrics metrics, String endpoint, String path, String token, Object body, long intendedNanos) {
+        return send(metrics, endpoint, request(path, token).POST(json(body)).header("Content-Type", "application/json"), intendedNanos);
+    }
+    
+    CompletableFuture<Response> put(StageMetrics metrics, String endpoint, String path, String token, long intendedNanos) {
+        return send(metrics, endpoint, request(path, token).PUT(HttpRequest.BodyPublishers.noBody()), intendedNanos);
+    }
+    
+    CompletableFuture<Response> delete(StageMetrics metrics, String endpoint, String path, String token, long intendedNanos) {
+        return send(metrics, endpoint, request(path, token).DELETE(), intendedNanos);
+    }
+    
+    // Runs the next step once the pause is over; the step is timed from the end of the pause
+    CompletableFuture<Long> pause(long nanos) {
+        long due = System.nanoTime() + nanos;
+        return CompletableFuture.supplyAsync(() -> due, CompletableFuture.delayedExecutor(nanos, TimeUnit.NANOSECONDS, executor));
+    }
+    
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUrl.resolve(path)).timeout(timeout);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+    
+    private CompletableFuture<Response> send(StageMetrics metrics, String endpoint, HttpRequest.Builder request, long intendedNanos) {
+        return http.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+            .handle((response, failure) -> {
+                long latency = System.nanoTime() - intendedNanos;
+                if (failure != null) {
+                    metrics.record(endpoint, latency, StageMetrics.NO_RESPONSE);
+                    Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+                    throw new RequestFailed(endpoint + ": " + cause, true);
+                }
+                int status = response.statusCode();
+                metrics.record(endpoint, latency, status);
+                if (status >= 400) {
+                    throw new RequestFailed(endpoint + ": HTTP " + status, StageMetrics.isError(status));
+                }
+                return new Response(status, parse(response.body()));
+            });
+    }
+    
+    private JsonNode parse(byte[] body) {
+        if (body.length == 0) {
+            return objectMapper.missingNode();
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return objectMapper.missingNode();
+        }
+    }
+    
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
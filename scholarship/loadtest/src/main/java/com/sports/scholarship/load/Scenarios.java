@@ -0,0 +1,186 @@
+package com.sports.scholarship.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+// The visits the static pages make, as the same calls in the same order:
+//   browse   main.js: the open scholarships, then a sport filter
+//   login    auth.js: a fresh sign-in
+//   apply    apply.js: the open scholarships, then a submitted form
+//   status   status.js: the student's applications
+//   withdraw status.js: the student's applications, then withdrawing a pending one
+//   review   an admin working the PENDING queue
+// Students keep their token between visits, as the pages do in localStorage, so only the
+// first visit of each student and the login scenario sign in.
+final class Scenarios {
+    
+    static final List<String> NAMES = List.of("browse", "login", "apply", "status", "withdraw", "review");
+    
+    private static final String[] SPORTS = {"Cricket", "Kabaddi", "Hockey", "Wrestling", "Archery", "Kho-Kho",
+        "Football", "Basketball", "Tennis", "Swimming", "Track", "Volleyball"};
+    private static final int ADMIN = -1;
+    
+    private final PortalClient client;
+    private final LoadTestOptions options;
+    private final long thinkNanos;
+    private final Map<Integer, CompletableFuture<Login>> logins = new ConcurrentHashMap<>();
+    private final String statement;
+    
+    // at: when the sign-in came back, for timing the request that waited on it
+    private record Login(String token, long userId, long at) {}
+    
+    Scenarios(PortalClient client, LoadTestOptions options) {
+        this.client = client;
+        this.options = options;
+        this.thinkNanos = options.thinkTime().toNanos();
+        // About the length of a real personal statement
+        this.statement = "I have trained every morning before school for six years. ".repeat(25);
+    }
+    
+    CompletableFuture<Void> run(String scenario, StageMetrics metrics, long intendedNanos, SplittableRandom random) {
+        return switch (scenario) {
+            case "browse" -> browse(metrics, intendedNanos, random);
+            case "login" -> login(metrics, random.nextInt(options.userCount()), intendedNanos, true).thenAccept(login -> {});
+            case "apply" -> apply(metrics, intendedNanos, random);
+            case "status" -> status(metrics, intendedNanos, random);
+            case "withdraw" -> withdraw(metrics, intendedNanos, random);
+            case "review" -> review(metrics, intendedNanos, random);
+            default -> throw new IllegalArgumentException("Unknown scenario " + scenario);
+        };
+    }
+    
+    private CompletableFuture<Void> browse(StageMetrics metrics, long start, SplittableRandom random) {
+        return client.get(metrics, "GET /api/scholarships/available", "/api/scholarships/available", null, start)
+            .thenCompose(available -> think(random))
+            .thenCompose(due -> client.get(metrics, "GET /api/scholarships/search",
+                "/api/scholarships/search?size=100&sport=" + encode(SPORTS[random.nextInt(SPORTS.length)]), null, due))
+            .thenAccept(result -> {});
+    }
+    
+    private CompletableFuture<Void> apply(StageMetrics metrics, long start, SplittableRandom random) {
+        return student(metrics, random, start).thenCompose(login -> client.get(metrics, "GET /api/scholarships/available",
+                "/api/scholarships/available", null, next(start, login))
+            .thenCompose(available -> {
+                List<Long> ids = ids(available.body());
+                if (ids.isEmpty()) {
+                    return CompletableFuture.completedFuture(null);
+                }
+                Map<String, Object> form = new LinkedHashMap<>();
+                form.put("scholarshipId", ids.get(random.nextInt(ids.size())));
+                form.put("personalStatement", statement);
+                form.put("academicPerformance", "First class in the board exams, school sports captain");
+                form.put("sportsAchievements", "State level gold, national level selection camp");
+                form.put("financialNeed", "Family income under the threshold, travel to tournaments is self-funded");
+                return think(random).thenCompose(due -> client.post(metrics, "POST /api/applications",
+                    "/api/applications?userId=" + login.userId(), login.token(), form, due));
+            }))
+            .thenAccept(receipt -> {});
+    }
+    
+    private CompletableFuture<Void> status(StageMetrics metrics, long start, SplittableRandom random) {
+        return student(metrics, random, start)
+            .thenCompose(login -> myApplications(metrics, login, next(start, login)))
+            .thenAccept(applications -> {});
+    }
+    
+    private CompletableFuture<Void> withdraw(StageMetrics metrics, long start, SplittableRandom random) {
+        return student(metrics, random, start).thenCompose(login -> myApplications(metrics, login, next(start, login))
+            .thenCompose(applications -> {
+                List<Long> pending = new ArrayList<>();
+                for (JsonNode application : applications.body()) {
+                    if ("PENDING".equals(application.path("status").asText())) {
+                        pending.add(application.path("id").asLong());
+                    }
+                }
+                if (pending.isEmpty()) {
+                    return CompletableFuture.completedFuture(null);
+                }
+                long id = pending.get(random.nextInt(pending.size()));
+                // status.js sends PUT, which the API does not map; withdraw is a DELETE
+                return think(random).thenCompose(due -> client.delete(metrics, "DELETE /api/applications/{id}/withdraw",
+                    "/api/applications/" + id + "/withdraw?userId=" + login.userId(), login.token(), due));
+            }))
+            .thenAccept(done -> {});
+    }
+    
+    private CompletableFuture<Void> review(StageMetrics metrics, long start, SplittableRandom random) {
+        return admin(metrics, start).thenCompose(login -> client.get(metrics, "GET /api/applications/status/{status}",
+                "/api/applications/status/PENDING?size=20", login.token(), next(start, login))
+            .thenCompose(queue -> {
+                List<Long> ids = ids(queue.body().path("content"));
+                if (ids.isEmpty()) {
+                    return CompletableFuture.completedFuture(null);
+                }
+                long id = ids.get(random.nextInt(ids.size()));
+                return think(random).thenCompose(due -> client.put(metrics, "PUT /api/applications/{id}/status",
+                    "/api/applications/" + id + "/status?status=UNDER_REVIEW&comments=" + encode("Picked up for review"),
+                    login.token(), due));
+            }))
+            .thenAccept(updated -> {});
+    }
+    
+    private CompletableFuture<PortalClient.Response> myApplications(StageMetrics metrics, Login login, long due) {
+        return client.get(metrics, "GET /api/applications/user/{userId}",
+            "/api/applications/user/" + login.userId(), login.token(), due);
+    }
+    
+    // The session's first request is due at its arrival time, or when the sign-in it waited on
+    // came back (next(start, login))
+    private CompletableFuture<Login> student(StageMetrics metrics, SplittableRandom random, long start) {
+        return login(metrics, random.nextInt(options.userCount()), start, false);
+    }
+    
+    private CompletableFuture<Login> admin(StageMetrics metrics, long start) {
+        return login(metrics, ADMIN, start, false);
+    }
+    
+    private CompletableFuture<Login> login(StageMetrics metrics, int user, long start, boolean fresh) {
+        if (fresh) {
+            logins.remove(user);
+        }
+        CompletableFuture<Login> login = logins.computeIfAbsent(user, key -> {
+            Map<String, String> credentials = user == ADMIN
+                ? Map.of("username", options.adminUser(), "password", options.adminPassword())
+                : Map.of("username", options.userPrefix() + user, "password", options.password());
+            return client.post(metrics, "POST /api/auth/login", "/api/auth/login", null, credentials, start)
+                .thenApply(response -> new Login(response.body().path("token").asText(), response.body().path("userId").asLong(),
+                    System.nanoTime()));
+        });
+        // A failed sign-in is not remembered, so the student's next visit tries again
+        login.whenComplete((result, failure) -> {
+            if (failure != null) {
+                logins.remove(user, login);
+            }
+        });
+        return login;
+    }
+    
+    private static long next(long start, Login login) {
+        return Math.max(start, login.at());
+    }
+    
+    private CompletableFuture<Long> think(SplittableRandom random) {
+        return client.pause((long) (-Math.log(1 - random.nextDouble()) * thinkNanos));
+    }
+    
+    private static List<Long> ids(JsonNode array) {
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode node : array) {
+            ids.add(node.path("id").asLong());
+        }
+        return ids;
+    }
+    
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,78 @@
+package com.sports.scholarship.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// What happened to the sessions that arrived during one stage, recorded from the HTTP client's
+// threads. Latencies are in microseconds and run from when a request was due to go out, so
+// time spent queued behind a slow server still counts (coordinated omission).
+final class StageMetrics {
+    
+    // Status recorded for requests that got no response (timeout, refused connection)
+    static final int NO_RESPONSE = 0;
+    
+    final LoadTestOptions.Stage stage;
+    final Histogram all = histogram();
+    final Map<String, Endpoint> endpoints = new ConcurrentSkipListMap<>();
+    final LongAdder sessionsStarted = new LongAdder();
+    final LongAdder sessionsCompleted = new LongAdder();
+    final LongAdder sessionsFailed = new LongAdder();
+    final LongAdder sessionsDropped = new LongAdder();
+    
+    StageMetrics(LoadTestOptions.Stage stage) {
+        this.stage = stage;
+    }
+    
+    void record(String endpoint, long latencyNanos, int status) {
+        long micros = Math.max(1, latencyNanos / 1_000);
+        all.recordValue(micros);
+        endpoints.computeIfAbsent(endpoint, name -> new Endpoint()).record(micros, status);
+    }
+    
+    long requests() {
+        return endpoints.values().stream().mapToLong(endpoint -> endpoint.histogram.getTotalCount()).sum();
+    }
+    
+    long errors() {
+        return endpoints.values().stream().mapToLong(Endpoint::errors).sum();
+    }
+    
+    // 5xx, 429 (the BCrypt pool shedding logins) and no response at all mean the portal is not
+    // coping; other 4xx are the client's doing, e.g. a second application for one scholarship
+    static boolean isError(int status) {
+        return status == NO_RESPONSE || status == 429 || status >= 500;
+    }
+    
+    private static Histogram histogram() {
+        return new ConcurrentHistogram(3);
+    }
+    
+    static final class Endpoint {
+        
+        final Histogram histogram = histogram();
+        final Map<Integer, LongAdder> statuses = new ConcurrentSkipListMap<>();
+        
+        void record(long micros, int status) {
+            histogram.recordValue(micros);
+            statuses.computeIfAbsent(status, code -> new LongAdder()).increment();
+        }
+        
+        long errors() {
+            return statuses.entrySet().stream()
+                .filter(entry -> isError(entry.getKey()))
+                .mapToLong(entry -> entry.getValue().sum())
+                .sum();
+        }
+        
+        Map<String, Long> statusCounts() {
+            Map<String, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status == NO_RESPONSE ? "none" : String.valueOf(status), count.sum()));
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.sports.scholarship.build;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+// Build step for the static pages, run by exec-maven-plugin once the test classes are compiled
+// (see pom.xml) on the copy in target/classes/static. It is compiled with the tests, so it is
+// not part of the application jar. Each stylesheet and script is minified and written under
+// assets/ with its content hash in the name, next to .gz and .br copies, and the pages are
+// pointed at those names. A changed file gets a new name, so the hashed files can be served as
+// immutable (see StaticResourceConfig). The sources in src/main/resources are left as they are.
+public final class StaticAssetBuilder {
+    
+    static final String ASSETS_DIR = "assets";
+    
+    // css/style.css, js/main.js, or a name this step already rewrote (the resources plugin
+    // does not copy a page again unless its source changed)
+    private static final Pattern REFERENCE = Pattern.compile(
+        "(href|src)=\"(?:" + ASSETS_DIR + "/)?((?:css|js)/[\\w-]+?)(?:\\.[0-9a-f]{12})?\\.(css|js)\"");
+    
+    private StaticAssetBuilder() {}
+    
+    public static void main(String[] args) throws IOException {
+        Path root = Path.of(args.length > 0 ? args[0] : "target/classes/static");
+        Path assets = root.resolve(ASSETS_DIR);
+        deleteRecursively(assets);
+        boolean brotli = brotliAvailable();
+        
+        Map<String, String> hashedNames = new HashMap<>();
+        for (String dir : List.of("css", "js")) {
+            Path source = root.resolve(dir);
+            if (!Files.isDirectory(source)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.list(source)) {
+                for (Path file : files.filter(f -> f.toString().endsWith("." + dir)).sorted().toList()) {
+                    // Line endings follow the checkout; the hash should not
+                    String text = Files.readString(file, StandardCharsets.UTF_8).replace("\r\n", "\n");
+                    byte[] minified = (dir.equals("css") ? minifyCss(text) : minifyJs(text)).getBytes(StandardCharsets.UTF_8);
+                    String name = file.getFileName().toString();
+                    String stem = name.substring(0, name.length() - dir.length() - 1);
+                    String hashedName = stem + "." + hash(minified) + "." + dir;
+                    
+                    Path target = assets.resolve(dir).resolve(hashedName);
+                    Files.createDirectories(target.getParent());
+                    Files.write(target, minified);
+                    Files.write(target.resolveSibling(hashedName + ".gz"), gzip(minified));
+                    if (brotli) {
+                        Files.write(target.resolveSibling(hashedName + ".br"), brotli(minified));
+                    }
+                    hashedNames.put(dir + "/" + stem, ASSETS_DIR + "/" + dir + "/" + hashedName);
+                    System.out.printf("static: %s/%s -> %s (%d -> %d bytes)%n", dir, name,
+                        hashedNames.get(dir + "/" + stem), Files.size(file), minified.length);
+                }
+            }
+        }
+        
+        try (Stream<Path> pages = Files.list(root)) {
+            for (Path page : pages.filter(p -> p.toString().endsWith(".html")).sorted().toList()) {
+                String html = Files.readString(page, StandardCharsets.UTF_8);
+                Matcher matcher = REFERENCE.matcher(html);
+                StringBuilder rewritten = new StringBuilder();
+                while (matcher.find()) {
+                    String hashed = hashedNames.get(matcher.group(2));
+                    String replacement = hashed == null
+                        ? matcher.group()
+                        : matcher.group(1) + "=\"" + hashed + "\"";
+                    matcher.appendReplacement(rewritten, Matcher.quoteReplacement(replacement));
+                }
+                matcher.appendTail(rewritten);
+                Files.writeString(page, rewritten, StandardCharsets.UTF_8);
+            }
+        }
+    }
+    
+    // Comments and whitespace only; the stylesheet has no strings that whitespace matters in
+    static String minifyCss(String css) {
+        return css
+            .replaceAll("(?s)/\\*.*?\\*/", "")
+            .replaceAll("\\s+", " ")
+            .replaceAll(" ?([{};,>]) ?", "$1")
+            .replaceAll(": ", ":")
+            .replace(";}", "}")
+            .trim();
+    }
+    
+    // Drops comments, indentation and blank lines but keeps line breaks, so automatic semicolon
+    // insertion reads the code the same way. Strings, template literals (including the ${}
+    // inside them, which may hold templates of their own) and regex literals are copied as is.
+    static String minifyJs(String js) {
+        StringBuilder out = new StringBuilder(js.length());
+        // One entry per open template literal; the value counts braces open in its current ${}
+        Deque<int[]> templates = new ArrayDeque<>();
+        boolean inTemplateText = false;
+        boolean lineStart = true;
+        int i = 0;
+        int n = js.length();
+        while (i < n) {
+            char c = js.charAt(i);
+            if (inTemplateText) {
+                if (c == '\\' && i + 1 < n) {
+                    out.append(c).append(js.charAt(i + 1));
+                    i += 2;
+                } else if (c == '`') {
+                    out.append(c);
+                    templates.pop();
+                    inTemplateText = false;
+                    i++;
+                } else if (c == '$' && i + 1 < n && js.charAt(i + 1) == '{') {
+                    out.append("${");
+                    inTemplateText = false;
+                    i += 2;
+                } else {
+                    out.append(c);
+                    i++;
+                }
+                continue;
+            }
+            
+            if (c == '\n' || c == '\r') {
+                if (!lineStart) {
+                    trimTrailing(out);
+                    out.append('\n');
+                    lineStart = true;
+                }
+                i++;
+                continue;
+            }
+            if (lineStart && (c == ' ' || c == '\t')) {
+                i++;
+                continue;
+            }
+            
+            if (c == '/' && i + 1 < n && js.charAt(i + 1) == '/') {
+                while (i < n && js.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (c == '/' && i + 1 < n && js.charAt(i + 1) == '*') {
+                int end = js.indexOf("*/", i + 2);
+                i = end < 0 ? n : end + 2;
+            } else if (c == '\'' || c == '"') {
+                int end = endOfQuoted(js, i, c);
+                out.append(js, i, end);
+                lineStart = false;
+                i = end;
+            } else if (c == '/' && startsRegex(out)) {
+                int end = endOfRegex(js, i);
+                out.append(js, i, end);
+                lineStart = false;
+                i = end;
+            } else {
+                if (c == '`') {
+                    templates.push(new int[1]);
+                    inTemplateText = true;
+                } else if (c == '{' && !templates.isEmpty()) {
+                    templates.peek()[0]++;
+                } else if (c == '}' && !templates.isEmpty()) {
+                    if (templates.peek()[0] == 0) {
+                        inTemplateText = true;
+                    } else {
+                        templates.peek()[0]--;
+                    }
+                }
+                out.append(c);
+                lineStart = false;
+                i++;
+            }
+        }
+        trimTrailing(out);
+        if (!lineStart) {
+            out.append('\n');
+        }
+        return out.toString();
+    }
+    
+    private static int endOfQuoted(String js, int start, char quote) {
+        int i = start + 1;
+        while (i < js.length() && js.charAt(i) != quote && js.charAt(i) != '\n') {
+            i += js.charAt(i) == '\\' ? 2 : 1;
+        }
+        return Math.min(i + 1, js.length());
+    }
+    
+    // A slash starts a regex where a value is expected, i.e. after an operator or opening bracket
+    private static boolean startsRegex(StringBuilder out) {
+        for (int i = out.length() - 1; i >= 0; i--) {
+            char c = out.charAt(i);
+            if (c != ' ' && c != '\t') {
+                return "(,=:[!&|?{};+-*%<>~^\n".indexOf(c) >= 0;
+            }
+        }
+        return true;
+    }
+    
+    private static int endOfRegex(String js, int start) {
+        int i = start + 1;
+        boolean inClass = false;
+        while (i < js.length() && js.charAt(i) != '\n') {
+            char c = js.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                inClass = true;
+            } else if (c == ']') {
+                inClass = false;
+            } else if (c == '/' && !inClass) {
+                i++;
+                while (i < js.length() && Character.isLetter(js.charAt(i))) {
+                    i++;
+                }
+                return i;
+            }
+            i++;
+        }
+        return i;
+    }
+    
+    private static void trimTrailing(StringBuilder out) {
+        while (out.length() > 0 && (out.charAt(out.length() - 1) == ' ' || out.charAt(out.length() - 1) == '\t')) {
+            out.setLength(out.length() - 1);
+        }
+    }
+    
+    private static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 6; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 3 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+    
+    private static byte[] brotli(byte[] data) throws IOException {
+        return Encoder.compress(data, new Encoder.Parameters().setQuality(11));
+    }
+    
+    private static boolean brotliAvailable() {
+        try {
+            Brotli4jLoader.ensureAvailability();
+            return true;
+        } catch (Throwable e) {
+            System.out.println("static: brotli is not available on this platform, writing .gz only: " + e);
+            return false;
+        }
+    }
+    
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.sports.scholarship.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+// CBOR and Smile next to JSON for every controller that returns objects: a client sending
+// Accept: application/cbor or application/x-jackson-smile gets the same fields in a binary
+// encoding, and may send request bodies that way too. Without an Accept header, or with */*,
+// the answer is still JSON. The mappers come from Boot's Jackson2ObjectMapperBuilder, so the
+// spring.jackson.* settings and date handling are the JSON ones, and these beans take the place
+// of the converters Spring would otherwise build with its own defaults.
+@Configuration
+public class BinaryFormatsConfig {
+    
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+    
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+    
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
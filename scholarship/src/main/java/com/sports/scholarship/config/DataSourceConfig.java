@@ -0,0 +1,81 @@
+package com.sports.scholarship.config;
+
+import com.sports.scholarship.service.ReadYourWritesTracker;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// spring.datasource stays the primary and takes every write. With datasource.replicas.urls set,
+// read-only transactions are spread over the replicas (see ReplicaRoutingDataSource); without it
+// the primary pool is used directly, as before. Either way statements are timed by QueryMetrics.
+@Configuration
+public class DataSourceConfig {
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+    
+    @Bean
+    @ConditionalOnProperty("datasource.replicas.urls")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            ReadYourWritesTracker readYourWrites,
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${datasource.replicas.urls}") List<String> urls,
+            @Value("${datasource.replicas.username:}") String username,
+            @Value("${datasource.replicas.password:}") String password,
+            @Value("${datasource.replicas.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${datasource.replicas.connection-timeout:PT2S}") Duration connectionTimeout,
+            @Value("${datasource.replicas.retry-after:PT30S}") Duration retryAfter) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + (replicas.size() + 1));
+            config.setJdbcUrl(url);
+            // Same account as the primary unless the replicas have their own
+            config.setUsername(username.isEmpty() ? properties.determineUsername() : username);
+            config.setPassword(username.isEmpty() ? properties.determinePassword() : password);
+            config.setReadOnly(true);
+            config.setMaximumPoolSize(maximumPoolSize);
+            // Short, so a dead replica costs a read this long before it falls back to the primary
+            config.setConnectionTimeout(connectionTimeout.toMillis());
+            // A replica that is down at startup must not keep the app from starting
+            config.setInitializationFailTimeout(-1);
+            // Not beans, so Boot does not publish their hikaricp.* metrics itself
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new HikariDataSource(config));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, readYourWrites, retryAfter);
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ObjectProvider<ReplicaRoutingDataSource> routing,
+                                 QueryMetrics queryMetrics) {
+        ReplicaRoutingDataSource routingDataSource = routing.getIfAvailable();
+        if (routingDataSource == null) {
+            return queryMetrics.instrument(primaryDataSource);
+        }
+        return queryMetrics.instrument(new LazyConnectionDataSourceProxy(routingDataSource));
+    }
+}
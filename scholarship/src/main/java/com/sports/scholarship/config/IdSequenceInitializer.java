@@ -0,0 +1,79 @@
+package com.sports.scholarship.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+// Entity ids come from pooled sequences (blocks of 50 per round trip) so Hibernate can batch
+// inserts. Tables that used to be AUTO_INCREMENT already hold ids the fresh sequences know
+// nothing about, so before the app serves anything each sequence is moved past max(id).
+// On MySQL the "sequence" is a one-row table (next_val) that Hibernate emulates; the row
+// is locked while we look at it so concurrently starting instances agree.
+@Component
+public class IdSequenceInitializer {
+    
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceInitializer.class);
+    
+    // Must match allocationSize on the entities' @SequenceGenerator
+    private static final int ALLOCATION_SIZE = 50;
+    
+    // sequence -> table whose ids it hands out
+    private static final Map<String, String> SEQUENCES = Map.of(
+        "users_seq", "users",
+        "scholarships_seq", "scholarships",
+        "scholarship_applications_seq", "scholarship_applications"
+    );
+    
+    // Injected so the schema (including the sequences) exists before we run
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @PostConstruct
+    public void alignSequences() {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect();
+        boolean nativeSequences = dialect.getSequenceSupport().supportsSequences();
+        
+        SEQUENCES.forEach((sequence, table) -> transactionTemplate.executeWithoutResult(status -> {
+            long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+            // The pooled optimizer treats the value it reads as the top of its block, so the
+            // block starting ALLOCATION_SIZE - 1 below it has to be clear of existing rows
+            long required = maxId + ALLOCATION_SIZE;
+            
+            if (nativeSequences) {
+                long next = jdbcTemplate.queryForObject(
+                    dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+                if (next < required) {
+                    jdbcTemplate.execute("alter sequence " + sequence + " restart with " + required);
+                    log.info("Moved sequence {} from {} to {} (max id in {} is {})", sequence, next, required, table, maxId);
+                }
+                return;
+            }
+            
+            List<Long> rows = jdbcTemplate.queryForList("select next_val from " + sequence + " for update", Long.class);
+            if (rows.isEmpty()) {
+                jdbcTemplate.update("insert into " + sequence + " (next_val) values (?)", required);
+                log.info("Seeded sequence table {} at {} (max id in {} is {})", sequence, required, table, maxId);
+            } else if (rows.get(0) < required) {
+                jdbcTemplate.update("update " + sequence + " set next_val = ?", required);
+                log.info("Moved sequence table {} from {} to {} (max id in {} is {})", sequence, rows.get(0), required, table, maxId);
+            }
+        }));
+    }
+}
@@ -0,0 +1,100 @@
+package com.sports.scholarship.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// "local" profile only: stands in for replication between the embedded H2 databases of
+// application-local.properties. Every sync-interval the primary is scripted out and replayed
+// into each replica, so replicas trail by up to that interval, which is enough to watch
+// read-only routing and read-your-writes pinning do their job. A replica is paused in the
+// routing data source while it is emptied and refilled, so no read sees it half loaded; reads
+// go to the other replicas or the primary meanwhile.
+@Component
+@Profile("local")
+public class LocalReplicaSync {
+    
+    private static final Logger log = LoggerFactory.getLogger(LocalReplicaSync.class);
+    
+    // Injected so the schema exists on the primary before the first copy
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+    
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+    
+    @Autowired
+    private DataSourceProperties properties;
+    
+    @Value("${datasource.replicas.urls}")
+    private List<String> replicaUrls;
+    
+    @Value("${local.replica-sync.interval:PT2S}")
+    private Duration interval;
+    
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "replica-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    @PostConstruct
+    public void start() {
+        sync();
+        scheduler.scheduleWithFixedDelay(this::sync, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+    
+    private void sync() {
+        try {
+            List<String> script = new JdbcTemplate(primaryDataSource).queryForList("script", String.class);
+            for (String url : replicaUrls) {
+                if (!routingDataSource.pause(url, interval)) {
+                    log.warn("Replica {} still has reads running, skipping this sync", url);
+                    continue;
+                }
+                try (Connection connection = DriverManager.getConnection(url, properties.determineUsername(), properties.determinePassword());
+                     Statement statement = connection.createStatement()) {
+                    statement.execute("drop all objects");
+                    for (String sql : script) {
+                        statement.execute(sql);
+                    }
+                } finally {
+                    routingDataSource.resume(url);
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.warn("Replica sync failed: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.sports.scholarship.config;
+
+import com.sports.scholarship.security.JwtUtil;
+import com.sports.scholarship.security.PasswordHasher;
+import com.sports.scholarship.service.ApplicationStatusStream;
+import com.sports.scholarship.service.CatalogResponseCache;
+import com.sports.scholarship.service.ScholarshipService;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+@Configuration
+public class MetricsConfig {
+    
+    // http.server.requests, additionally tagged with the controller method that handled it
+    @Bean
+    public DefaultServerRequestObservationConvention handlerTaggingConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+                String name = handler instanceof HandlerMethod method
+                    ? method.getBeanType().getSimpleName() + "." + method.getMethod().getName()
+                    : "none";
+                return super.getLowCardinalityKeyValues(context).and("handler", name);
+            }
+        };
+    }
+    
+    // Catalog caches, JWT cache, BCrypt pool and status stream figures, read from their stats on each scrape
+    @Bean
+    public MeterBinder cacheAndAuthMetrics(ScholarshipService scholarshipService, CatalogResponseCache responseCache,
+                                           JwtUtil jwtUtil, PasswordHasher passwordHasher,
+                                           ApplicationStatusStream statusStream) {
+        return registry -> {
+            FunctionCounter.builder("catalog.cache.requests", scholarshipService, s -> s.getCatalogCacheStats().hits())
+                .tag("result", "hit").register(registry);
+            FunctionCounter.builder("catalog.cache.requests", scholarshipService, s -> s.getCatalogCacheStats().misses())
+                .tag("result", "miss").register(registry);
+            FunctionCounter.builder("catalog.cache.invalidations", scholarshipService, s -> s.getCatalogCacheStats().invalidations())
+                .register(registry);
+            FunctionCounter.builder("catalog.responses.requests", responseCache, c -> c.getStats().hits())
+                .tag("result", "hit").register(registry);
+            FunctionCounter.builder("catalog.responses.requests", responseCache, c -> c.getStats().misses())
+                .tag("result", "miss").register(registry);
+            FunctionCounter.builder("catalog.responses.uncached", responseCache, c -> c.getStats().uncached())
+                .register(registry);
+            Gauge.builder("catalog.responses.size", responseCache, c -> c.getStats().entries())
+                .register(registry);
+            
+            FunctionCounter.builder("auth.jwt.cache.requests", jwtUtil, j -> j.getStats().hits())
+                .tag("result", "hit").register(registry);
+            FunctionCounter.builder("auth.jwt.cache.requests", jwtUtil, j -> j.getStats().misses())
+                .tag("result", "miss").register(registry);
+            Gauge.builder("auth.jwt.cache.size", jwtUtil, j -> j.getStats().size())
+                .register(registry);
+            
+            // Hash timings are the auth.bcrypt.hash timer, recorded by PasswordHasher itself
+            FunctionCounter.builder("auth.bcrypt.rejected", passwordHasher, p -> p.getStats().rejected())
+                .description("Hash requests turned away because the BCrypt queue was full or the wait timed out")
+                .register(registry);
+            Gauge.builder("auth.bcrypt.queue.depth", passwordHasher, p -> p.getStats().queueDepth())
+                .register(registry);
+            Gauge.builder("auth.bcrypt.active", passwordHasher, p -> p.getStats().activeThreads())
+                .register(registry);
+            Gauge.builder("applications.stream.connections", statusStream, s -> s.getStats().connections())
+                .register(registry);
+            Gauge.builder("applications.stream.users", statusStream, s -> s.getStats().users())
+                .register(registry);
+            FunctionCounter.builder("applications.stream.events", statusStream, s -> s.getStats().published())
+                .register(registry);
+            FunctionCounter.builder("applications.stream.overflows", statusStream, s -> s.getStats().overflows())
+                .register(registry);
+        };
+    }
+}
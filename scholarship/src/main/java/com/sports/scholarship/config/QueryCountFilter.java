@@ -0,0 +1,32 @@
+package com.sports.scholarship.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Records db.queries.per.request, tagged with the matched route. Statements run after the
+// response is handed off (streamed exports) are not part of the count.
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+    
+    @Autowired
+    private QueryMetrics queryMetrics;
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        queryMetrics.startRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            queryMetrics.finishRequest((String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.sports.scholarship.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Times every JDBC statement the app runs, JPA and JdbcTemplate alike, as db.query, counts
+// statements per request (see QueryCountFilter) and keeps the slow-query log. The log is
+// sampled: a statement over the threshold is logged at most once per sample-interval, with the
+// number of slow runs since, while db.query.slow counts every one of them.
+@Component
+public class QueryMetrics implements QueryExecutionListener {
+    
+    private static final Logger log = LoggerFactory.getLogger(QueryMetrics.class);
+    
+    // Distinct statements tracked for sampling; past this the map starts over
+    private static final int MAX_TRACKED_STATEMENTS = 1000;
+    
+    private final MeterRegistry meterRegistry;
+    private final long thresholdMillis;
+    private final long sampleIntervalNanos;
+    private final Counter slowQueries;
+    
+    // Statements run by the current request thread; null outside a request
+    private final ThreadLocal<int[]> requestCount = new ThreadLocal<>();
+    
+    // SQL -> when it was last logged and how many slow runs were skipped since
+    private final Map<String, Sample> samples = new ConcurrentHashMap<>();
+    
+    private record Sample(long loggedAt, int skipped) {}
+    
+    public QueryMetrics(MeterRegistry meterRegistry,
+                        @Value("${db.slow-query.threshold:PT0.2S}") Duration threshold,
+                        @Value("${db.slow-query.sample-interval:PT1M}") Duration sampleInterval) {
+        this.meterRegistry = meterRegistry;
+        this.thresholdMillis = threshold.toMillis();
+        this.sampleIntervalNanos = sampleInterval.toNanos();
+        this.slowQueries = Counter.builder("db.query.slow")
+            .description("Statements slower than db.slow-query.threshold")
+            .register(meterRegistry);
+    }
+    
+    public DataSource instrument(DataSource dataSource) {
+        return ProxyDataSourceBuilder.create("app", dataSource).listener(this).build();
+    }
+    
+    public void startRequest() {
+        requestCount.set(new int[1]);
+    }
+    
+    public void finishRequest(String uri) {
+        int[] count = requestCount.get();
+        requestCount.remove();
+        if (count != null && uri != null) {
+            DistributionSummary.builder("db.queries.per.request")
+                .description("JDBC statements run while handling one request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(count[0]);
+        }
+    }
+    
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+    
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        long elapsed = execInfo.getElapsedTime();
+        Timer.builder("db.query")
+            .description("JDBC statement execution, one sample per round trip")
+            .tag("operation", operation(sql))
+            .tag("batch", String.valueOf(execInfo.isBatch()))
+            .tag("outcome", execInfo.isSuccess() ? "success" : "error")
+            .register(meterRegistry)
+            .record(elapsed, TimeUnit.MILLISECONDS);
+        
+        int[] count = requestCount.get();
+        if (count != null) {
+            count[0]++;
+        }
+        if (elapsed >= thresholdMillis) {
+            slowQueries.increment();
+            logSampled(sql, elapsed, execInfo);
+        }
+    }
+    
+    private void logSampled(String sql, long elapsed, ExecutionInfo execInfo) {
+        if (samples.size() > MAX_TRACKED_STATEMENTS) {
+            samples.clear();
+        }
+        long now = System.nanoTime();
+        Sample previous = samples.get(sql);
+        if (previous != null && now - previous.loggedAt() < sampleIntervalNanos) {
+            samples.replace(sql, previous, new Sample(previous.loggedAt(), previous.skipped() + 1));
+            return;
+        }
+        samples.put(sql, new Sample(now, 0));
+        String batch = execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "";
+        String skipped = previous != null && previous.skipped() > 0 ? ", " + previous.skipped() + " more since last logged" : "";
+        log.warn("Slow query ({} ms{}{}): {}", elapsed, batch, skipped, sql);
+    }
+    
+    private static String operation(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        String keyword = trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        return switch (keyword) {
+            case "select", "insert", "update", "delete" -> keyword;
+            default -> "other";
+        };
+    }
+}
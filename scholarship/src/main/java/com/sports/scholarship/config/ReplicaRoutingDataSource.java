@@ -0,0 +1,136 @@
+package com.sports.scholarship.config;
+
+import com.sports.scholarship.service.ReadYourWritesTracker;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Hands out replica connections inside @Transactional(readOnly = true) and primary connections
+// everywhere else. Has to sit behind a LazyConnectionDataSourceProxy: a transaction is only
+// flagged read-only after it asked for its connection, so the pick waits for the first statement.
+// A replica that refuses a connection is skipped for retry-after, and one that is paused (being
+// reloaded, say) until it is resumed; with none left, reads go to the primary.
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    
+    private final DataSource primary;
+    private final List<HikariDataSource> replicas;
+    private final ReadYourWritesTracker readYourWrites;
+    private final long retryAfterNanos;
+    
+    // nanoTime until which each replica is skipped; 0 while it is healthy
+    private final AtomicLongArray downUntil;
+    // 1 while a replica is paused
+    private final AtomicIntegerArray paused;
+    private final AtomicInteger next = new AtomicInteger();
+    
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas,
+                                    ReadYourWritesTracker readYourWrites, Duration retryAfter) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readYourWrites = readYourWrites;
+        this.retryAfterNanos = retryAfter.toNanos();
+        this.downUntil = new AtomicLongArray(replicas.size());
+        this.paused = new AtomicIntegerArray(replicas.size());
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !readYourWrites.mustReadPrimary()) {
+            Connection connection = replicaConnection();
+            if (connection != null) {
+                return connection;
+            }
+        }
+        return primary.getConnection();
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+    
+    // Takes the replica with this JDBC URL out of rotation, then waits up to the given time for
+    // the connections already handed out from it to be returned. False (and back in rotation)
+    // when they are not, or when no replica has that URL.
+    public boolean pause(String jdbcUrl, Duration wait) throws InterruptedException {
+        int index = indexOf(jdbcUrl);
+        if (index < 0) {
+            return false;
+        }
+        paused.set(index, 1);
+        HikariDataSource replica = replicas.get(index);
+        long deadline = System.nanoTime() + wait.toNanos();
+        while (replica.getHikariPoolMXBean() != null && replica.getHikariPoolMXBean().getActiveConnections() > 0) {
+            if (System.nanoTime() - deadline >= 0) {
+                paused.set(index, 0);
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+    
+    public void resume(String jdbcUrl) {
+        int index = indexOf(jdbcUrl);
+        if (index >= 0) {
+            paused.set(index, 0);
+        }
+    }
+    
+    private int indexOf(String jdbcUrl) {
+        for (int i = 0; i < replicas.size(); i++) {
+            if (replicas.get(i).getJdbcUrl().equals(jdbcUrl)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    // Round robin over the replicas that are not paused or sitting out a failure
+    private Connection replicaConnection() throws SQLException {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            int index = (start + i) % replicas.size();
+            long until = downUntil.get(index);
+            if (paused.get(index) == 1 || (until != 0 && System.nanoTime() - until < 0)) {
+                continue;
+            }
+            HikariDataSource replica = replicas.get(index);
+            try {
+                Connection connection = replica.getConnection();
+                downUntil.set(index, 0);
+                // Paused while this connection was being taken: pause() may already have seen
+                // the pool idle, so give it back
+                if (paused.get(index) == 1) {
+                    connection.close();
+                    continue;
+                }
+                return connection;
+            } catch (SQLException e) {
+                downUntil.set(index, System.nanoTime() + retryAfterNanos);
+                log.warn("Replica {} unavailable, reading from the primary for {}s: {}",
+                    replica.getPoolName(), Duration.ofNanos(retryAfterNanos).toSeconds(), e.getMessage());
+            }
+        }
+        return null;
+    }
+    
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+    }
+}
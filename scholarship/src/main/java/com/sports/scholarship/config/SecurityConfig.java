@@ -1,7 +1,12 @@
 package com.sports.scholarship.config;
 
+import com.sports.scholarship.security.JwtAuthenticationFilter;
+import com.sports.scholarship.security.JwtUtil;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -10,6 +15,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -21,8 +27,8 @@ import java.util.Arrays;
 public class SecurityConfig {
     
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
     
     @Bean
@@ -31,16 +37,35 @@ public class SecurityConfig {
     }
     
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, JwtUtil jwtUtil) throws Exception {
         http
             .cors().and()
             .csrf().disable()
             .authorizeHttpRequests(authz -> authz
+                // The dispatch that finishes an async response (exports, status streams); the
+                // request itself was authorized, and the token is not read again for it
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                // The pages and their assets; the API calls they make carry the token
+                .requestMatchers("/", "/*.html", "/css/**", "/js/**", "/assets/**", "/favicon.ico").permitAll()
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/scholarships/**").permitAll()
+                .requestMatchers("/error").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
+                .requestMatchers("/api/import/**").hasRole("ADMIN")
+                // Every account with its contact details
+                .requestMatchers("/api/users/**").hasRole("ADMIN")
+                .requestMatchers("/api/applications/bulk/**").hasRole("ADMIN")
+                // A scholarship's whole applicant pool, with contact details (list and export)
+                .requestMatchers("/api/applications/scholarship/**").hasRole("ADMIN")
+                // Reviewing: the queue by status and a decision on one application
+                .requestMatchers("/api/applications/status/**").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.PUT, "/api/applications/*/status").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
-            .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS);
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            // Not a bean, so Boot does not also register it as a plain servlet filter
+            .addFilterBefore(new JwtAuthenticationFilter(jwtUtil), UsernamePasswordAuthenticationFilter.class);
         
         return http.build();
     }
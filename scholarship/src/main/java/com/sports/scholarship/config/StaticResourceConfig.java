@@ -0,0 +1,32 @@
+package com.sports.scholarship.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+import java.time.Duration;
+
+// The hashed files the build writes under assets/ (see StaticAssetBuilder) never change under
+// a given name, so browsers and proxies may keep them for a year without asking again. The .br
+// or .gz copy next to each one is sent when the request accepts it.
+// The pages are the other way round: each deploy points them at new hashed names and drops
+// the old files, so they are revalidated on every load (no-cache, answered with a 304 while
+// unchanged) instead of being kept on a heuristic. The unhashed css/js keep Boot's defaults.
+@Configuration
+public class StaticResourceConfig implements WebMvcConfigurer {
+    
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/assets/**")
+            .addResourceLocations("classpath:/static/assets/")
+            .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+            .resourceChain(true)
+            .addResolver(new EncodedResourceResolver());
+        // Also serves "/", which Boot forwards to index.html
+        registry.addResourceHandler("/*.html")
+            .addResourceLocations("classpath:/static/")
+            .setCacheControl(CacheControl.noCache());
+    }
+}
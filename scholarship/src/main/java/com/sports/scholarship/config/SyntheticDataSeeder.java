@@ -0,0 +1,330 @@
+package com.sports.scholarship.config;
+
+import com.sports.scholarship.entity.ApplicationStatus;
+import com.sports.scholarship.entity.Role;
+import com.sports.scholarship.entity.Scholarship;
+import com.sports.scholarship.entity.ScholarshipApplication;
+import com.sports.scholarship.entity.User;
+import com.sports.scholarship.repository.ScholarshipApplicationRepository;
+import com.sports.scholarship.repository.ScholarshipRepository;
+import com.sports.scholarship.repository.UserRepository;
+import com.sports.scholarship.security.PasswordHasher;
+import com.sports.scholarship.service.ScholarshipCatalogCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+// "seed" profile only: fills the database with a synthetic dataset at production scale (see
+// application-seed.properties for the volumes). Everything is drawn from seed.seed, so the same
+// settings give the same rows; dates count back from seed.as-of. Rows go in through the
+// repositories in chunks of seed.batch-size per transaction, which Hibernate sends as JDBC batches.
+// It runs before ApplicationReadyEvent, so the registration filter and the search index warm up
+// from the seeded tables as they would after a restart; the server is already taking requests,
+// though, so the catalog cache is dropped once the scholarships are in.
+@Component
+@Profile("seed")
+public class SyntheticDataSeeder implements ApplicationRunner {
+    
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataSeeder.class);
+    
+    private static final String[] SPORTS = {"Cricket", "Kabaddi", "Hockey", "Wrestling", "Archery", "Kho-Kho",
+        "Football", "Basketball", "Tennis", "Swimming", "Track", "Volleyball"};
+    private static final String[] CATEGORIES = {"Athletic", "Need-based", "Merit"};
+    private static final String[] FIRST_NAMES = {"Aarav", "Priya", "Rohan", "Ananya", "Vikram", "Meera", "Arjun",
+        "Kavya", "Ishaan", "Diya", "Karan", "Sneha", "Aditya", "Pooja", "Rahul", "Neha", "Siddharth", "Riya"};
+    private static final String[] LAST_NAMES = {"Sharma", "Patel", "Singh", "Reddy", "Iyer", "Gupta", "Nair",
+        "Kumar", "Das", "Joshi", "Mehta", "Rao", "Verma", "Chopra", "Bose", "Pillai"};
+    private static final String[] WORDS = ("training season coach team tournament district state national match "
+        + "goal practice fitness discipline captain league record medal final scholarship academy school college "
+        + "family support injury recovery stamina strategy leadership community volunteer mentor grades selection "
+        + "camp trials performance dedication sacrifice travel equipment fees village city junior senior under "
+        + "represented won lost improved ranked first second third best player defender striker bowler batsman "
+        + "raider sprinter relay swimmer archer wrestler referee years months every morning evening hours study "
+        + "exams marks percent income parents farmer shop salary loan hostel diet shoes kit the a and to of in "
+        + "for with my our at on as from this that because while after before during since despite").split(" ");
+    
+    // Status mix of a portal that has been open for a while, in ApplicationStatus order
+    private static final int[] STATUS_WEIGHTS = {40, 20, 10, 22, 8};
+    
+    @Autowired
+    private ScholarshipRepository scholarshipRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private ScholarshipApplicationRepository applicationRepository;
+    
+    @Autowired
+    private ScholarshipCatalogCache catalogCache;
+    
+    @Autowired
+    private PasswordHasher passwordHasher;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private ConfigurableApplicationContext context;
+    
+    @Value("${seed.seed:42}")
+    private long seed;
+    
+    @Value("${seed.users:1000000}")
+    private int users;
+    
+    @Value("${seed.scholarships:5000}")
+    private int scholarships;
+    
+    @Value("${seed.applications-per-user:3}")
+    private double applicationsPerUser;
+    
+    @Value("${seed.max-applications-per-user:25}")
+    private int maxApplicationsPerUser;
+    
+    @Value("${seed.scholarship-skew:1.0}")
+    private double scholarshipSkew;
+    
+    @Value("${seed.batch-size:1000}")
+    private int batchSize;
+    
+    @Value("${seed.as-of:}")
+    private String asOf;
+    
+    @Value("${seed.password:password123}")
+    private String password;
+    
+    @Value("${seed.exit-when-done:false}")
+    private boolean exitWhenDone;
+    
+    private LocalDate today;
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        today = asOf.isBlank() ? LocalDate.now() : LocalDate.parse(asOf);
+        // Usernames carry the seed, so a second seed adds to the data and a repeated one is caught here
+        if (userRepository.existsByUsername(username(0))) {
+            log.warn("Dataset for seed {} is already in the database; nothing seeded", seed);
+        } else {
+            long started = System.nanoTime();
+            Catalog catalog = seedScholarships(new Random(seed));
+            long applications = seedUsersAndApplications(catalog, new Random(seed + 1), new Random(seed + 2));
+            log.info("Seeded {} scholarships, {} users and {} applications in {}s", scholarships, users,
+                applications, (System.nanoTime() - started) / 1_000_000_000);
+        }
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+    
+    private Catalog seedScholarships(Random random) {
+        Catalog catalog = new Catalog(scholarships);
+        Text text = new Text(random);
+        for (int from = 0; from < scholarships; from += batchSize) {
+            List<Scholarship> chunk = new ArrayList<>();
+            for (int i = from; i < Math.min(from + batchSize, scholarships); i++) {
+                String sport = SPORTS[random.nextInt(SPORTS.length)];
+                String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+                // A third have closed; the rest close over the coming year
+                LocalDate deadline = today.plusDays(random.nextInt(3) == 0 ? -1 - random.nextInt(365) : 1 + random.nextInt(365));
+                Scholarship scholarship = new Scholarship(
+                    sport + " " + category + " Scholarship " + (i + 1),
+                    text.paragraphs(1200, 200, 20_000),
+                    sport,
+                    category,
+                    BigDecimal.valueOf(5_000 + random.nextInt(96) * 2_500L),
+                    deadline,
+                    deadline.plusMonths(1 + random.nextInt(3)),
+                    deadline.plusMonths(12 + random.nextInt(24)),
+                    text.paragraphs(400, 80, 4_000),
+                    text.paragraphs(200, 40, 2_000));
+                scholarship.setActive(random.nextInt(10) != 0);
+                chunk.add(scholarship);
+            }
+            transactionTemplate.executeWithoutResult(status -> scholarshipRepository.saveAll(chunk));
+            chunk.forEach(catalog::add);
+        }
+        catalogCache.invalidate();
+        catalog.skew(random, scholarshipSkew);
+        log.info("Seeded {} scholarships", scholarships);
+        return catalog;
+    }
+    
+    // Users are written a chunk at a time together with their applications, so only one
+    // chunk of rows is held in memory however many millions are asked for
+    private long seedUsersAndApplications(Catalog catalog, Random userRandom, Random applicationRandom) {
+        // BCrypt once: every seeded user logs in with seed.password
+        String passwordHash = passwordHasher.encode(password);
+        Text text = new Text(applicationRandom);
+        double geometric = Math.log(1 - 1 / (applicationsPerUser + 1));
+        long applications = 0;
+        long lastReport = System.nanoTime();
+        for (int from = 0; from < users; from += batchSize) {
+            List<User> userChunk = new ArrayList<>();
+            List<ScholarshipApplication> applicationChunk = new ArrayList<>();
+            for (int i = from; i < Math.min(from + batchSize, users); i++) {
+                String first = FIRST_NAMES[userRandom.nextInt(FIRST_NAMES.length)];
+                String last = LAST_NAMES[userRandom.nextInt(LAST_NAMES.length)];
+                User user = new User(username(i), username(i) + "@example.test", passwordHash,
+                    first + " " + last, String.format("+91-%05d-%05d", userRandom.nextInt(100_000), userRandom.nextInt(100_000)));
+                user.setRole(Role.STUDENT);
+                userChunk.add(user);
+                
+                // Most users apply once or twice, a few apply for many
+                int count = Math.min((int) (Math.log(1 - applicationRandom.nextDouble()) / geometric),
+                    Math.min(maxApplicationsPerUser, scholarships));
+                Set<Integer> chosen = new HashSet<>();
+                while (chosen.size() < count) {
+                    int index = catalog.pick(applicationRandom);
+                    if (chosen.add(index)) {
+                        applicationChunk.add(application(user, catalog, index, applicationRandom, text));
+                    }
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.saveAll(userChunk);
+                applicationRepository.saveAll(applicationChunk);
+            });
+            applications += applicationChunk.size();
+            if (System.nanoTime() - lastReport > 10_000_000_000L) {
+                lastReport = System.nanoTime();
+                log.info("Seeded {} of {} users, {} applications", from + userChunk.size(), users, applications);
+            }
+        }
+        return applications;
+    }
+    
+    private ScholarshipApplication application(User user, Catalog catalog, int index, Random random, Text text) {
+        Scholarship scholarship = catalog.scholarships[index];
+        ScholarshipApplication application = new ScholarshipApplication(user, scholarship,
+            text.paragraphs(1800, 300, 30_000),
+            text.paragraphs(120, 20, 255),
+            text.paragraphs(150, 20, 255),
+            text.paragraphs(120, 20, 255));
+        // Up to 90 days before the deadline, and never in the future
+        LocalDate deadline = scholarship.getApplicationDeadline().isAfter(today) ? today : scholarship.getApplicationDeadline();
+        LocalDateTime applied = deadline.atStartOfDay().minusMinutes(random.nextInt(90 * 24 * 60));
+        application.setApplicationDate(applied);
+        
+        List<String> documents = new ArrayList<>();
+        for (int d = random.nextInt(random.nextInt(6) + 1); d > 0; d--) {
+            documents.add("https://files.example.test/applications/" + Long.toHexString(random.nextLong()) + ".pdf");
+        }
+        application.setDocuments(documents);
+        
+        ApplicationStatus status = status(random);
+        application.setStatus(status);
+        if (status == ApplicationStatus.APPROVED || status == ApplicationStatus.REJECTED) {
+            application.setReviewDate(applied.plusMinutes(60 + random.nextInt(30 * 24 * 60)));
+            application.setReviewerComments(text.sentence(4, 30));
+        }
+        return application;
+    }
+    
+    private static ApplicationStatus status(Random random) {
+        int roll = random.nextInt(Arrays.stream(STATUS_WEIGHTS).sum());
+        for (int i = 0; i < STATUS_WEIGHTS.length; i++) {
+            roll -= STATUS_WEIGHTS[i];
+            if (roll < 0) {
+                return ApplicationStatus.values()[i];
+            }
+        }
+        return ApplicationStatus.PENDING;
+    }
+    
+    private String username(int index) {
+        return "seed" + seed + "_" + index;
+    }
+    
+    // Saved (now detached) scholarships by position, and a Zipf-like popularity over them: the k-th most popular
+    // draws weight 1/k^skew, with the ranking shuffled so popularity does not follow the id
+    private static final class Catalog {
+        
+        final Scholarship[] scholarships;
+        private final double[] cumulative;
+        private int size;
+        
+        Catalog(int capacity) {
+            scholarships = new Scholarship[capacity];
+            cumulative = new double[capacity];
+        }
+        
+        void add(Scholarship scholarship) {
+            scholarships[size++] = scholarship;
+        }
+        
+        void skew(Random random, double exponent) {
+            int[] rank = new int[size];
+            for (int i = 0; i < size; i++) {
+                int j = random.nextInt(i + 1);
+                rank[i] = rank[j];
+                rank[j] = i;
+            }
+            double total = 0;
+            for (int i = 0; i < size; i++) {
+                total += 1 / Math.pow(rank[i] + 1, exponent);
+                cumulative[i] = total;
+            }
+        }
+        
+        int pick(Random random) {
+            int index = Arrays.binarySearch(cumulative, 0, size, random.nextDouble() * cumulative[size - 1]);
+            return index >= 0 ? index : Math.min(-index - 1, size - 1);
+        }
+    }
+    
+    // Word salad from a sports-and-school vocabulary. Lengths are log-normal around the median,
+    // the way free-text answers are: mostly near it, with a long tail of much longer ones.
+    private static final class Text {
+        
+        private final Random random;
+        
+        Text(Random random) {
+            this.random = random;
+        }
+        
+        String paragraphs(int median, int min, int max) {
+            int length = (int) Math.max(min, Math.min(max, median * Math.exp(0.6 * random.nextGaussian())));
+            StringBuilder text = new StringBuilder(length + 100);
+            while (text.length() < length) {
+                if (!text.isEmpty()) {
+                    text.append(random.nextInt(6) == 0 ? "\n\n" : " ");
+                }
+                text.append(sentence(6, 24));
+            }
+            text.setLength(length);
+            return text.toString().strip();
+        }
+        
+        String sentence(int minWords, int maxWords) {
+            StringBuilder sentence = new StringBuilder();
+            for (int i = minWords + random.nextInt(maxWords - minWords + 1); i > 0; i--) {
+                String word = WORDS[random.nextInt(WORDS.length)];
+                if (sentence.isEmpty()) {
+                    sentence.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+                } else {
+                    sentence.append(' ').append(word);
+                }
+            }
+            return sentence.append('.').toString();
+        }
+    }
+}
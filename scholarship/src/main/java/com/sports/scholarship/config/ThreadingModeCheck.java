@@ -0,0 +1,28 @@
+package com.sports.scholarship.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+// spring.threads.virtual.enabled only takes effect on a Java 21+ runtime (the build targets 17
+// so the same jar runs on both). Says at startup which mode requests are actually served in.
+@Component
+public class ThreadingModeCheck {
+    
+    private static final Logger log = LoggerFactory.getLogger(ThreadingModeCheck.class);
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void report(ApplicationReadyEvent event) {
+        Environment environment = event.getApplicationContext().getEnvironment();
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Serving requests and async tasks on virtual threads");
+        } else if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            log.warn("spring.threads.virtual.enabled is set, but Java {} has no virtual threads; using platform threads",
+                Runtime.version().feature());
+        }
+    }
+}
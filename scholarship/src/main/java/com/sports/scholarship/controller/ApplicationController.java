@@ -1,15 +1,35 @@
 package com.sports.scholarship.controller;
 
+import com.sports.scholarship.dto.ApplicationDetailDto;
+import com.sports.scholarship.dto.ApplicationReceiptDto;
+import com.sports.scholarship.dto.ApplicationSummaryDto;
+import com.sports.scholarship.dto.BulkReviewRequest;
+import com.sports.scholarship.dto.BulkReviewResult;
+import com.sports.scholarship.dto.BulkTransitionRequest;
+import com.sports.scholarship.dto.CursorPage;
+import com.sports.scholarship.dto.ExportFormat;
 import com.sports.scholarship.dto.ScholarshipApplicationDto;
 import com.sports.scholarship.entity.ApplicationStatus;
+import com.sports.scholarship.entity.Role;
 import com.sports.scholarship.entity.ScholarshipApplication;
+import com.sports.scholarship.security.JwtPrincipal;
+import com.sports.scholarship.service.ApplicationStatusStream;
 import com.sports.scholarship.service.ScholarshipApplicationService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 // Add this import if you have a custom exception, or use org.springframework.web.server.ResponseStatusException
 import org.springframework.web.server.ResponseStatusException;
@@ -22,59 +42,152 @@ public class ApplicationController {
     @Autowired
     private ScholarshipApplicationService applicationService;
 
+    @Autowired
+    private ApplicationStatusStream statusStream;
+
+    // The applicant is whoever the token belongs to
     @PostMapping
-    public ResponseEntity<ScholarshipApplication> createApplication(
-            @RequestParam Long userId,
+    public ResponseEntity<ApplicationReceiptDto> createApplication(
+            @AuthenticationPrincipal JwtPrincipal principal,
             @RequestBody ScholarshipApplicationDto applicationDto) {
+        Long userId = signedIn(principal).userId();
         // The service will throw an exception on failure, which the handler will catch.
         ScholarshipApplication application = applicationService.createApplication(userId, applicationDto);
         // Use 201 Created for successful POST requests.
-        return ResponseEntity.status(HttpStatus.CREATED).body(application);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApplicationReceiptDto.from(application, userId, applicationDto.getScholarshipId()));
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<ScholarshipApplication>> getUserApplications(@PathVariable Long userId) {
-        List<ScholarshipApplication> applications = applicationService.getUserApplications(userId);
+    public ResponseEntity<List<ApplicationDetailDto>> getUserApplications(
+            @AuthenticationPrincipal JwtPrincipal principal,
+            @PathVariable Long userId) {
+        requireOwnerOrAdmin(principal, userId);
+        List<ApplicationDetailDto> applications = applicationService.getUserApplications(userId).stream()
+                .map(ApplicationDetailDto::from)
+                .toList();
         return ResponseEntity.ok(applications);
     }
     
+    // Status changes to the signed-in student's applications as they happen (text/event-stream).
+    // The page reconnects with the last id it saw and gets what it missed, or a "resync" event.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStatusChanges(
+            @AuthenticationPrincipal JwtPrincipal principal,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        if (principal == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Sign in to follow your applications");
+        }
+        return statusStream.subscribe(principal.userId(), lastEventId);
+    }
+    
     @GetMapping("/{id}")
-    public ResponseEntity<ScholarshipApplication> getApplicationById(@PathVariable Long id) {
+    public ResponseEntity<ApplicationDetailDto> getApplicationById(
+            @AuthenticationPrincipal JwtPrincipal principal,
+            @PathVariable Long id) {
         // Use ResponseStatusException for not found
-        return applicationService.getApplicationById(id)
-                .map(ResponseEntity::ok)
+        ScholarshipApplication application = applicationService.getApplicationById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Application not found with id: " + id));
+        requireOwnerOrAdmin(principal, application.getUser().getId());
+        return ResponseEntity.ok(ApplicationDetailDto.from(application));
     }
     // Add missing endpoint for getScholarshipApplications
     @GetMapping("/scholarship/{scholarshipId}")
-    public ResponseEntity<List<ScholarshipApplication>> getScholarshipApplications(@PathVariable Long scholarshipId) {
-        List<ScholarshipApplication> applications = applicationService.getScholarshipApplications(scholarshipId);
-        return ResponseEntity.ok(applications);
+    public ResponseEntity<CursorPage<ApplicationSummaryDto>> getScholarshipApplications(
+            @PathVariable Long scholarshipId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String direction) {
+        CursorPage<ScholarshipApplication> applications =
+            applicationService.getScholarshipApplicationsPage(scholarshipId, cursor, size, direction);
+        return ResponseEntity.ok(applications.map(ApplicationSummaryDto::from));
+    }
+
+    // The whole applicant pool as a file, written out while it is read (format: csv or ndjson)
+    @GetMapping("/scholarship/{scholarshipId}/export")
+    public ResponseEntity<StreamingResponseBody> exportScholarshipApplications(
+            @PathVariable Long scholarshipId,
+            @RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        if (!applicationService.scholarshipExists(scholarshipId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Scholarship not found with id: " + scholarshipId);
+        }
+        StreamingResponseBody body = out -> applicationService.exportApplications(scholarshipId, exportFormat, out);
+        String filename = "scholarship-" + scholarshipId + "-applications." + exportFormat.getExtension();
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
     }
 
     @PutMapping("/{id}/status")
-    public ResponseEntity<ScholarshipApplication> updateApplicationStatus(
+    public ResponseEntity<ApplicationDetailDto> updateApplicationStatus(
             @PathVariable Long id,
             @RequestParam ApplicationStatus status,
             @RequestParam(required = false) String comments) {
         // The service will throw an exception if the application is not found.
         ScholarshipApplication application = applicationService.updateApplicationStatus(id, status, comments);
-        return ResponseEntity.ok(application);
+        return ResponseEntity.ok(ApplicationDetailDto.from(application));
+    }
+
+    @PutMapping("/bulk/status")
+    public ResponseEntity<BulkReviewResult> bulkUpdateStatus(@RequestBody BulkReviewRequest request) {
+        return ResponseEntity.ok(applicationService.bulkUpdateStatus(request));
+    }
+    
+    @PutMapping("/bulk/transition")
+    public ResponseEntity<Map<String, Integer>> bulkTransition(@Valid @RequestBody BulkTransitionRequest request) {
+        int updated = applicationService.bulkTransition(request);
+        return ResponseEntity.ok(Map.of("updated", updated));
     }
 
     @DeleteMapping("/{id}/withdraw")
-    public ResponseEntity<Void> withdrawApplication(@PathVariable Long id, @RequestParam Long userId) {
+    public ResponseEntity<Void> withdrawApplication(
+            @AuthenticationPrincipal JwtPrincipal principal,
+            @PathVariable Long id) {
         // The service handles logic for checking ownership and validity.
-        applicationService.withdrawApplication(id, userId);
+        applicationService.withdrawApplication(id, signedIn(principal).userId());
         // Use 204 No Content for successful actions that don't return a body.
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<ScholarshipApplication>> getApplicationsByStatus(@PathVariable ApplicationStatus status) {
-        List<ScholarshipApplication> applications = applicationService.getApplicationsByStatus(status);
-        return ResponseEntity.ok(applications);
+    public ResponseEntity<CursorPage<ApplicationSummaryDto>> getApplicationsByStatus(
+            @PathVariable ApplicationStatus status,
+            @RequestParam(required = false) Long scholarshipId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String direction) {
+        CursorPage<ScholarshipApplication> applications =
+            applicationService.getApplicationsByStatusPage(status, scholarshipId, cursor, size, direction);
+        return ResponseEntity.ok(applications.map(ApplicationSummaryDto::from));
     }
 
     // Other endpoints like getScholarshipApplications remain the same...
+    
+    private static JwtPrincipal signedIn(JwtPrincipal principal) {
+        if (principal == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Sign in to manage your applications");
+        }
+        return principal;
+    }
+    
+    // Students see their own applications; admins see anyone's
+    private static void requireOwnerOrAdmin(JwtPrincipal principal, Long userId) {
+        JwtPrincipal user = signedIn(principal);
+        if (user.role() != Role.ADMIN && !user.userId().equals(userId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You can only view your own applications");
+        }
+    }
+    
+    // Rejections made on purpose (e.g. a second application for the same scholarship) go back
+    // with their reason for the page to show; other errors keep Boot's body, which leaves
+    // exception messages out
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<Map<String, Object>> handleRejection(ResponseStatusException e) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", e.getStatusCode().value());
+        body.put("message", e.getReason());
+        return ResponseEntity.status(e.getStatusCode()).body(body);
+    }
 }
\ No newline at end of file
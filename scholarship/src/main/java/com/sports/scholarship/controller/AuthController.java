@@ -4,17 +4,19 @@ import com.sports.scholarship.dto.LoginRequest;
 import com.sports.scholarship.dto.UserDto;
 import com.sports.scholarship.entity.User;
 import com.sports.scholarship.security.JwtUtil;
+import com.sports.scholarship.security.PasswordHasher;
 import com.sports.scholarship.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -25,11 +27,14 @@ public class AuthController {
     private UserService userService;
     
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private PasswordHasher passwordHasher;
     
     @Autowired
     private JwtUtil jwtUtil;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
     @PostMapping("/register")
     public ResponseEntity<?> registerUser(@RequestBody UserDto userDto) {
         try {
@@ -38,6 +43,11 @@ public class AuthController {
             response.put("message", "User registered successfully");
             response.put("userId", user.getId());
             return ResponseEntity.ok(response);
+        } catch (RejectedExecutionException e) {
+            return tooManyRequests();
+        } catch (DataIntegrityViolationException e) {
+            // Not a clash with another account; a server error, without the database's message
+            throw e;
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -48,14 +58,19 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<?> loginUser(@RequestBody LoginRequest loginRequest) {
         try {
-            Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword())
-            );
-            
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            String token = jwtUtil.generateToken(userDetails);
-            
+            // One lookup; the password check runs on the BCrypt pool, not this thread
             User user = userService.findByUsername(loginRequest.getUsername()).orElse(null);
+            boolean valid = passwordHasher.matches(loginRequest.getPassword(), user != null ? user.getPassword() : null);
+            if (!valid) {
+                countLogin("invalid");
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "Invalid username or password");
+                return ResponseEntity.badRequest().body(error);
+            }
+            userService.upgradePasswordIfNeeded(user, loginRequest.getPassword());
+            
+            String token = jwtUtil.generateToken(user);
+            countLogin("success");
             
             Map<String, Object> response = new HashMap<>();
             response.put("token", token);
@@ -65,10 +80,26 @@ public class AuthController {
             response.put("role", user.getRole());
             
             return ResponseEntity.ok(response);
+        } catch (RejectedExecutionException e) {
+            countLogin("throttled");
+            return tooManyRequests();
         } catch (Exception e) {
+            countLogin("error");
             Map<String, String> error = new HashMap<>();
             error.put("error", "Invalid username or password");
             return ResponseEntity.badRequest().body(error);
         }
     }
+    
+    private void countLogin(String outcome) {
+        meterRegistry.counter("auth.logins", "outcome", outcome).increment();
+    }
+    
+    private ResponseEntity<Map<String, String>> tooManyRequests() {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Too many sign-in requests, please retry shortly");
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(error);
+    }
 }
@@ -0,0 +1,37 @@
+package com.sports.scholarship.controller;
+
+import com.sports.scholarship.dto.ImportReport;
+import com.sports.scholarship.service.BulkImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// Raw request bodies (not multipart) so the file is read as it arrives instead of being
+// spooled first. curl: --data-binary @roster.csv -H "Content-Type: text/csv"
+@RestController
+@RequestMapping("/api/import")
+@CrossOrigin(origins = "*")
+public class ImportController {
+    
+    @Autowired
+    private BulkImportService importService;
+    
+    @PostMapping(value = "/scholarships", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ImportReport> importScholarships(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(importService.importScholarships(body, contentType));
+    }
+    
+    @PostMapping(value = "/users", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ImportReport> importUsers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(importService.importUsers(body, contentType));
+    }
+}
@@ -1,8 +1,17 @@
 package com.sports.scholarship.controller;
 
+import com.sports.scholarship.dto.CursorPage;
+import com.sports.scholarship.dto.ScholarshipDto;
+import com.sports.scholarship.dto.ScholarshipSearchCriteria;
+import com.sports.scholarship.dto.ScholarshipSearchResult;
 import com.sports.scholarship.entity.Scholarship;
+import com.sports.scholarship.service.CatalogResponseCache;
+import com.sports.scholarship.service.ScholarshipCatalogCache;
 import com.sports.scholarship.service.ScholarshipService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,48 +26,75 @@ public class ScholarshipController {
     @Autowired
     private ScholarshipService scholarshipService;
     
+    @Autowired
+    private CatalogResponseCache responseCache;
+    
+    // The catalog reads carry an ETag and Last-Modified; a client that sends them back gets a
+    // 304 with no body until the catalog changes (the check is made when the entity is written).
+    // The two list endpoints answer from ready-encoded bytes (see CatalogResponseCache), so they
+    // pick JSON, CBOR or Smile from Accept themselves instead of through the message converters.
     @GetMapping
-    public ResponseEntity<List<Scholarship>> getAllScholarships() {
-        List<Scholarship> scholarships = scholarshipService.getAllActiveScholarships();
-        return ResponseEntity.ok(scholarships);
+    public ResponseEntity<byte[]> getAllScholarships(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String direction,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ScholarshipCatalogCache.Snapshot catalog = scholarshipService.getCatalog();
+        String key = scholarshipService.getActiveScholarshipsPageKey(cursor, size, direction);
+        return encoded(catalog, responseCache.get(catalog, key, false, responseCache.negotiate(accept), acceptEncoding, () ->
+            scholarshipService.getActiveScholarshipsPage(catalog, cursor, size, direction).map(ScholarshipDto::from)));
     }
     
     @GetMapping("/available")
-    public ResponseEntity<List<Scholarship>> getAvailableScholarships() {
-        List<Scholarship> scholarships = scholarshipService.getAvailableScholarships();
-        return ResponseEntity.ok(scholarships);
+    public ResponseEntity<byte[]> getAvailableScholarships(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ScholarshipCatalogCache.Snapshot catalog = scholarshipService.getCatalog();
+        return encoded(catalog, responseCache.get(catalog, "available", true, responseCache.negotiate(accept), acceptEncoding,
+            () -> toDtos(catalog.available())));
+    }
+    
+    @GetMapping("/search")
+    public ResponseEntity<ScholarshipSearchResult> searchScholarships(@ModelAttribute ScholarshipSearchCriteria criteria) {
+        return ResponseEntity.ok(scholarshipService.searchScholarships(criteria));
     }
     
+    // Goes through the message converters, but negotiates the same way as the lists so that the
+    // ETag can name the format
     @GetMapping("/{id}")
-    public ResponseEntity<Scholarship> getScholarshipById(@PathVariable Long id) {
+    public ResponseEntity<ScholarshipDto> getScholarshipById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         Optional<Scholarship> scholarship = scholarshipService.getScholarshipById(id);
-        return scholarship.map(ResponseEntity::ok)
+        MediaType format = responseCache.negotiate(accept);
+        return scholarship.map(s -> revalidated(s, format).body(ScholarshipDto.from(s)))
                 .orElse(ResponseEntity.notFound().build());
     }
     
     @GetMapping("/sport/{sport}")
-    public ResponseEntity<List<Scholarship>> getScholarshipsBySport(@PathVariable String sport) {
+    public ResponseEntity<List<ScholarshipDto>> getScholarshipsBySport(@PathVariable String sport) {
         List<Scholarship> scholarships = scholarshipService.getScholarshipsBySport(sport);
-        return ResponseEntity.ok(scholarships);
+        return ResponseEntity.ok(toDtos(scholarships));
     }
     
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<Scholarship>> getScholarshipsByCategory(@PathVariable String category) {
+    public ResponseEntity<List<ScholarshipDto>> getScholarshipsByCategory(@PathVariable String category) {
         List<Scholarship> scholarships = scholarshipService.getScholarshipsByCategory(category);
-        return ResponseEntity.ok(scholarships);
+        return ResponseEntity.ok(toDtos(scholarships));
     }
     
     @PostMapping
-    public ResponseEntity<Scholarship> createScholarship(@RequestBody Scholarship scholarship) {
+    public ResponseEntity<ScholarshipDto> createScholarship(@RequestBody Scholarship scholarship) {
         Scholarship createdScholarship = scholarshipService.createScholarship(scholarship);
-        return ResponseEntity.ok(createdScholarship);
+        return ResponseEntity.ok(ScholarshipDto.from(createdScholarship));
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<Scholarship> updateScholarship(@PathVariable Long id, @RequestBody Scholarship scholarship) {
+    public ResponseEntity<ScholarshipDto> updateScholarship(@PathVariable Long id, @RequestBody Scholarship scholarship) {
         try {
             Scholarship updatedScholarship = scholarshipService.updateScholarship(id, scholarship);
-            return ResponseEntity.ok(updatedScholarship);
+            return ResponseEntity.ok(ScholarshipDto.from(updatedScholarship));
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -83,4 +119,35 @@ public class ScholarshipController {
             return ResponseEntity.notFound().build();
         }
     }
+    
+    // no-cache: browsers may keep the body but must ask before reusing it
+    private ResponseEntity<byte[]> encoded(ScholarshipCatalogCache.Snapshot catalog, CatalogResponseCache.EncodedResponse response) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+            .cacheControl(CacheControl.noCache())
+            .eTag(response.etag())
+            .lastModified(catalog.lastModified())
+            .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+            .contentType(response.contentType());
+        if (response.contentEncoding() != null) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, response.contentEncoding());
+        }
+        return builder.body(response.body());
+    }
+    
+    private ResponseEntity.BodyBuilder revalidated(Scholarship scholarship, MediaType format) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+            .cacheControl(CacheControl.noCache())
+            .eTag(responseCache.etagFor(scholarship.getId() + "-" + scholarship.getVersion(), format))
+            .varyBy(HttpHeaders.ACCEPT)
+            .contentType(format);
+        // Rows written before the column existed have no date; the ETag still applies
+        if (scholarship.getLastModified() != null) {
+            builder.lastModified(scholarship.getLastModified());
+        }
+        return builder;
+    }
+    
+    private List<ScholarshipDto> toDtos(List<Scholarship> scholarships) {
+        return scholarships.stream().map(ScholarshipDto::from).toList();
+    }
 }
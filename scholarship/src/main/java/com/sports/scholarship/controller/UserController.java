@@ -0,0 +1,27 @@
+package com.sports.scholarship.controller;
+
+import com.sports.scholarship.dto.CursorPage;
+import com.sports.scholarship.dto.UserSummaryDto;
+import com.sports.scholarship.entity.User;
+import com.sports.scholarship.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/users")
+@CrossOrigin(origins = "*")
+public class UserController {
+    
+    @Autowired
+    private UserService userService;
+    
+    @GetMapping
+    public ResponseEntity<CursorPage<UserSummaryDto>> getUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String direction) {
+        CursorPage<User> users = userService.getUsersPage(cursor, size, direction);
+        return ResponseEntity.ok(users.map(UserSummaryDto::from));
+    }
+}
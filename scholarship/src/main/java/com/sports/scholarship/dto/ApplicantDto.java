@@ -0,0 +1,15 @@
+package com.sports.scholarship.dto;
+
+import com.sports.scholarship.entity.User;
+
+// The slice of a user shown next to an application
+public record ApplicantDto(
+        Long id,
+        String username,
+        String fullName,
+        String email) {
+    
+    public static ApplicantDto from(User user) {
+        return new ApplicantDto(user.getId(), user.getUsername(), user.getFullName(), user.getEmail());
+    }
+}
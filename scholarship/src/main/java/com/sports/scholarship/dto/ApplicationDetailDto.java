@@ -0,0 +1,40 @@
+package com.sports.scholarship.dto;
+
+import com.sports.scholarship.entity.ApplicationStatus;
+import com.sports.scholarship.entity.ScholarshipApplication;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public record ApplicationDetailDto(
+        Long id,
+        ApplicantDto applicant,
+        ScholarshipRefDto scholarship,
+        String personalStatement,
+        String academicPerformance,
+        String sportsAchievements,
+        String financialNeed,
+        List<String> documents,
+        ApplicationStatus status,
+        String reviewerComments,
+        LocalDateTime applicationDate,
+        LocalDateTime reviewDate) {
+    
+    public static ApplicationDetailDto from(ScholarshipApplication application) {
+        return new ApplicationDetailDto(
+            application.getId(),
+            ApplicantDto.from(application.getUser()),
+            ScholarshipRefDto.from(application.getScholarship()),
+            application.getPersonalStatement(),
+            application.getAcademicPerformance(),
+            application.getSportsAchievements(),
+            application.getFinancialNeed(),
+            new ArrayList<>(application.getDocuments()),
+            application.getStatus(),
+            application.getReviewerComments(),
+            application.getApplicationDate(),
+            application.getReviewDate()
+        );
+    }
+}
@@ -0,0 +1,39 @@
+package com.sports.scholarship.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.sports.scholarship.entity.ApplicationStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// One line of an applications export; also the column order of the CSV
+@JsonPropertyOrder({"id", "userId", "username", "fullName", "email", "phone", "status", "applicationDate",
+    "reviewDate", "personalStatement", "academicPerformance", "sportsAchievements", "financialNeed",
+    "reviewerComments", "documents"})
+public record ApplicationExportRow(
+        Long id,
+        Long userId,
+        String username,
+        String fullName,
+        String email,
+        String phone,
+        ApplicationStatus status,
+        LocalDateTime applicationDate,
+        LocalDateTime reviewDate,
+        String personalStatement,
+        String academicPerformance,
+        String sportsAchievements,
+        String financialNeed,
+        String reviewerComments,
+        List<String> documents) {
+    
+    // Used by the export query; documents are added afterwards
+    public ApplicationExportRow(Long id, Long userId, String username, String fullName, String email, String phone,
+                                ApplicationStatus status, LocalDateTime applicationDate, LocalDateTime reviewDate,
+                                String personalStatement, String academicPerformance, String sportsAchievements,
+                                String financialNeed, String reviewerComments) {
+        this(id, userId, username, fullName, email, phone, status, applicationDate, reviewDate, personalStatement,
+            academicPerformance, sportsAchievements, financialNeed, reviewerComments, new ArrayList<>());
+    }
+}
@@ -0,0 +1,25 @@
+package com.sports.scholarship.dto;
+
+import com.sports.scholarship.entity.ApplicationStatus;
+import com.sports.scholarship.entity.ScholarshipApplication;
+
+import java.time.LocalDateTime;
+
+// Returned by a submit; built from ids alone so it costs no extra selects
+public record ApplicationReceiptDto(
+        Long id,
+        Long userId,
+        Long scholarshipId,
+        ApplicationStatus status,
+        LocalDateTime applicationDate) {
+    
+    public static ApplicationReceiptDto from(ScholarshipApplication application, Long userId, Long scholarshipId) {
+        return new ApplicationReceiptDto(
+            application.getId(),
+            userId,
+            scholarshipId,
+            application.getStatus(),
+            application.getApplicationDate()
+        );
+    }
+}
@@ -0,0 +1,23 @@
+package com.sports.scholarship.dto;
+
+import com.sports.scholarship.entity.ApplicationStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Published on the application event bus by every status write, single or bulk, and delivered
+// once the write has committed. Each change goes to its student's status stream as is.
+public record ApplicationStatusChanges(List<Change> changes) {
+    
+    // reviewerComments is null when the write left the comments as they were
+    public record Change(
+            Long applicationId,
+            Long userId,
+            ApplicationStatus status,
+            String reviewerComments,
+            LocalDateTime reviewDate) {}
+    
+    public static ApplicationStatusChanges of(Change change) {
+        return new ApplicationStatusChanges(List.of(change));
+    }
+}
@@ -0,0 +1,27 @@
+package com.sports.scholarship.dto;
+
+import com.sports.scholarship.entity.ApplicationStatus;
+import com.sports.scholarship.entity.ScholarshipApplication;
+
+import java.time.LocalDateTime;
+
+// List row for reviewer queues: no free-text answers and no documents
+public record ApplicationSummaryDto(
+        Long id,
+        ApplicantDto applicant,
+        ScholarshipRefDto scholarship,
+        ApplicationStatus status,
+        LocalDateTime applicationDate,
+        LocalDateTime reviewDate) {
+    
+    public static ApplicationSummaryDto from(ScholarshipApplication application) {
+        return new ApplicationSummaryDto(
+            application.getId(),
+            ApplicantDto.from(application.getUser()),
+            ScholarshipRefDto.from(application.getScholarship()),
+            application.getStatus(),
+            application.getApplicationDate(),
+            application.getReviewDate()
+        );
+    }
+}
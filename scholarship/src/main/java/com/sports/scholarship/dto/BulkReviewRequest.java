@@ -0,0 +1,64 @@
+package com.sports.scholarship.dto;
+
+import com.sports.scholarship.entity.ApplicationStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkReviewRequest {
+    
+    private List<Item> items = new ArrayList<>();
+    
+    public BulkReviewRequest() {}
+    
+    public static class Item {
+        
+        private Long id;
+        
+        private ApplicationStatus status;
+        
+        private String comments;
+        
+        public Item() {}
+        
+        public Item(Long id, ApplicationStatus status, String comments) {
+            this.id = id;
+            this.status = status;
+            this.comments = comments;
+        }
+        
+        // Getters and Setters
+        public Long getId() {
+            return id;
+        }
+        
+        public void setId(Long id) {
+            this.id = id;
+        }
+        
+        public ApplicationStatus getStatus() {
+            return status;
+        }
+        
+        public void setStatus(ApplicationStatus status) {
+            this.status = status;
+        }
+        
+        public String getComments() {
+            return comments;
+        }
+        
+        public void setComments(String comments) {
+            this.comments = comments;
+        }
+    }
+    
+    // Getters and Setters
+    public List<Item> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,14 @@
+package com.sports.scholarship.dto;
+
+import java.util.List;
+
+public record BulkReviewResult(int updated, int notFound, int invalid, List<ItemResult> results) {
+    
+    public enum Outcome {
+        UPDATED,
+        NOT_FOUND,
+        INVALID
+    }
+    
+    public record ItemResult(Long id, Outcome outcome) {}
+}
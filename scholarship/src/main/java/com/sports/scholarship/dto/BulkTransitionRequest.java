@@ -0,0 +1,58 @@
+package com.sports.scholarship.dto;
+
+import com.sports.scholarship.entity.ApplicationStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Set-based transition, e.g. "reject everything for scholarship 7 that is still PENDING or UNDER_REVIEW"
+public class BulkTransitionRequest {
+    
+    @NotNull(message = "Scholarship ID is required")
+    private Long scholarshipId;
+    
+    @NotEmpty(message = "At least one current status is required")
+    private List<ApplicationStatus> fromStatuses = new ArrayList<>();
+    
+    @NotNull(message = "Target status is required")
+    private ApplicationStatus status;
+    
+    private String comments;
+    
+    public BulkTransitionRequest() {}
+    
+    // Getters and Setters
+    public Long getScholarshipId() {
+        return scholarshipId;
+    }
+    
+    public void setScholarshipId(Long scholarshipId) {
+        this.scholarshipId = scholarshipId;
+    }
+    
+    public List<ApplicationStatus> getFromStatuses() {
+        return fromStatuses;
+    }
+    
+    public void setFromStatuses(List<ApplicationStatus> fromStatuses) {
+        this.fromStatuses = fromStatuses;
+    }
+    
+    public ApplicationStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(ApplicationStatus status) {
+        this.status = status;
+    }
+    
+    public String getComments() {
+        return comments;
+    }
+    
+    public void setComments(String comments) {
+        this.comments = comments;
+    }
+}
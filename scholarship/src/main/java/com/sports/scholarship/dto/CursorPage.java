@@ -0,0 +1,57 @@
+package com.sports.scholarship.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class CursorPage<T> {
+    
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+    
+    private final List<T> content;
+    private final String nextCursor;
+    private final boolean hasNext;
+    
+    public CursorPage(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+    }
+    
+    public static int clampSize(Integer size) {
+        if (size == null || size < 1) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+    
+    // Builds a page from a query that fetched one row more than the page size
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, PageCursor> cursorOf) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> content = rows.subList(0, size);
+        return new CursorPage<>(content, cursorOf.apply(content.get(size - 1)).encode());
+    }
+    
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(content.stream().map(mapper).toList(), nextCursor);
+    }
+    
+    // Getters
+    public List<T> getContent() {
+        return content;
+    }
+    
+    public int getSize() {
+        return content.size();
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public boolean isHasNext() {
+        return hasNext;
+    }
+}
@@ -0,0 +1,36 @@
+package com.sports.scholarship.dto;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Locale;
+
+public enum ExportFormat {
+    CSV(MediaType.parseMediaType("text/csv"), "csv"),
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson");
+    
+    private final MediaType mediaType;
+    private final String extension;
+    
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+    
+    public static ExportFormat from(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown export format: " + value);
+        }
+    }
+    
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+    
+    public String getExtension() {
+        return extension;
+    }
+}
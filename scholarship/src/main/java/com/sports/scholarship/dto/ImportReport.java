@@ -0,0 +1,10 @@
+package com.sports.scholarship.dto;
+
+import java.util.List;
+
+// Row numbers count records from 1, not counting a CSV header. Only the first few
+// failures are listed (errorsTruncated says whether more were dropped); failed counts all.
+public record ImportReport(long rows, long imported, long failed, List<RowError> errors, boolean errorsTruncated) {
+    
+    public record RowError(long row, List<String> messages) {}
+}
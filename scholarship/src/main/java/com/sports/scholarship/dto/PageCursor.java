@@ -0,0 +1,56 @@
+package com.sports.scholarship.dto;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// Opaque keyset position: the sort key of the last row on a page plus its id as tie-breaker
+public class PageCursor {
+    
+    private final LocalDateTime date;
+    private final Long id;
+    
+    private PageCursor(LocalDateTime date, Long id) {
+        this.date = date;
+        this.id = id;
+    }
+    
+    public static PageCursor ofId(Long id) {
+        return new PageCursor(null, id);
+    }
+    
+    public static PageCursor of(LocalDateTime date, Long id) {
+        return new PageCursor(date, id);
+    }
+    
+    public String encode() {
+        String raw = (date != null ? date.toString() : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    // Returns null for a missing cursor, meaning "start from the first page"
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            LocalDateTime date = separator > 0 ? LocalDateTime.parse(raw.substring(0, separator)) : null;
+            return new PageCursor(date, Long.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+    
+    public LocalDateTime getDate() {
+        return date;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+}
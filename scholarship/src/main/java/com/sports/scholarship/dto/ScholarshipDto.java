@@ -0,0 +1,39 @@
+package com.sports.scholarship.dto;
+
+import com.sports.scholarship.entity.Scholarship;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Read model for catalog endpoints; never touches the applications collection
+public record ScholarshipDto(
+        Long id,
+        String title,
+        String description,
+        String sport,
+        String category,
+        BigDecimal amount,
+        LocalDate applicationDeadline,
+        LocalDate startDate,
+        LocalDate endDate,
+        String eligibilityCriteria,
+        String requiredDocuments,
+        boolean active) {
+    
+    public static ScholarshipDto from(Scholarship scholarship) {
+        return new ScholarshipDto(
+            scholarship.getId(),
+            scholarship.getTitle(),
+            scholarship.getDescription(),
+            scholarship.getSport(),
+            scholarship.getCategory(),
+            scholarship.getAmount(),
+            scholarship.getApplicationDeadline(),
+            scholarship.getStartDate(),
+            scholarship.getEndDate(),
+            scholarship.getEligibilityCriteria(),
+            scholarship.getRequiredDocuments(),
+            scholarship.isActive()
+        );
+    }
+}
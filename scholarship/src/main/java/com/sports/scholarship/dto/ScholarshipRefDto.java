@@ -0,0 +1,27 @@
+package com.sports.scholarship.dto;
+
+import com.sports.scholarship.entity.Scholarship;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// The slice of a scholarship shown next to an application
+public record ScholarshipRefDto(
+        Long id,
+        String title,
+        String sport,
+        String category,
+        BigDecimal amount,
+        LocalDate applicationDeadline) {
+    
+    public static ScholarshipRefDto from(Scholarship scholarship) {
+        return new ScholarshipRefDto(
+            scholarship.getId(),
+            scholarship.getTitle(),
+            scholarship.getSport(),
+            scholarship.getCategory(),
+            scholarship.getAmount(),
+            scholarship.getApplicationDeadline()
+        );
+    }
+}
@@ -0,0 +1,139 @@
+package com.sports.scholarship.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ScholarshipSearchCriteria {
+    
+    // Free text matched against title, description and eligibility criteria
+    private String q;
+    
+    private List<String> sport = new ArrayList<>();
+    
+    private List<String> category = new ArrayList<>();
+    
+    private BigDecimal minAmount;
+    
+    private BigDecimal maxAmount;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate deadlineFrom;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate deadlineTo;
+    
+    // Only scholarships still accepting applications
+    private boolean openOnly = true;
+    
+    // relevance, deadline, amount, title or id; defaults to relevance when q is given, else deadline
+    private String sort;
+    
+    private String direction;
+    
+    private int page = 0;
+    
+    private Integer size;
+    
+    public ScholarshipSearchCriteria() {}
+    
+    // Getters and Setters
+    public String getQ() {
+        return q;
+    }
+    
+    public void setQ(String q) {
+        this.q = q;
+    }
+    
+    public List<String> getSport() {
+        return sport;
+    }
+    
+    public void setSport(List<String> sport) {
+        this.sport = sport;
+    }
+    
+    public List<String> getCategory() {
+        return category;
+    }
+    
+    public void setCategory(List<String> category) {
+        this.category = category;
+    }
+    
+    public BigDecimal getMinAmount() {
+        return minAmount;
+    }
+    
+    public void setMinAmount(BigDecimal minAmount) {
+        this.minAmount = minAmount;
+    }
+    
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+    
+    public void setMaxAmount(BigDecimal maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+    
+    public LocalDate getDeadlineFrom() {
+        return deadlineFrom;
+    }
+    
+    public void setDeadlineFrom(LocalDate deadlineFrom) {
+        this.deadlineFrom = deadlineFrom;
+    }
+    
+    public LocalDate getDeadlineTo() {
+        return deadlineTo;
+    }
+    
+    public void setDeadlineTo(LocalDate deadlineTo) {
+        this.deadlineTo = deadlineTo;
+    }
+    
+    public boolean isOpenOnly() {
+        return openOnly;
+    }
+    
+    public void setOpenOnly(boolean openOnly) {
+        this.openOnly = openOnly;
+    }
+    
+    public String getSort() {
+        return sort;
+    }
+    
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+    
+    public String getDirection() {
+        return direction;
+    }
+    
+    public void setDirection(String direction) {
+        this.direction = direction;
+    }
+    
+    public int getPage() {
+        return page;
+    }
+    
+    public void setPage(int page) {
+        this.page = page;
+    }
+    
+    public Integer getSize() {
+        return size;
+    }
+    
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+}
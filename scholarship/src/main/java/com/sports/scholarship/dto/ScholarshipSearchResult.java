@@ -0,0 +1,14 @@
+package com.sports.scholarship.dto;
+
+import java.util.List;
+import java.util.Map;
+
+// One page of matches plus per-value counts for the sport and category facets
+public record ScholarshipSearchResult(
+        List<ScholarshipDto> content,
+        long total,
+        int page,
+        int size,
+        Map<String, Long> sportFacets,
+        Map<String, Long> categoryFacets) {
+}
@@ -18,6 +18,7 @@ public class UserDto {
     
     @NotBlank(message = "Email is required")
     @Email(message = "Email should be valid")
+    @Size(max = 50, message = "Email must not exceed 50 characters")
     private String email;
     
     @NotBlank(message = "Full name is required")
@@ -0,0 +1,24 @@
+package com.sports.scholarship.dto;
+
+import com.sports.scholarship.entity.Role;
+import com.sports.scholarship.entity.User;
+
+public record UserSummaryDto(
+        Long id,
+        String username,
+        String email,
+        String fullName,
+        String phone,
+        Role role) {
+    
+    public static UserSummaryDto from(User user) {
+        return new UserSummaryDto(
+            user.getId(),
+            user.getUsername(),
+            user.getEmail(),
+            user.getFullName(),
+            user.getPhone(),
+            user.getRole()
+        );
+    }
+}
@@ -1,21 +1,27 @@
 package com.sports.scholarship.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "scholarships")
+@Table(name = "scholarships", indexes = {
+    @Index(name = "idx_scholarship_active_id", columnList = "is_active, id")
+})
 public class Scholarship {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "scholarships_seq")
+    @SequenceGenerator(name = "scholarships_seq", sequenceName = "scholarships_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank
@@ -57,6 +63,14 @@ public class Scholarship {
     
     private boolean isActive = true;
     
+    // Validators for conditional GETs; both move on every write that changes a column
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+    
+    private Instant lastModified;
+    
+    @JsonIgnore
     @OneToMany(mappedBy = "scholarship", cascade = CascadeType.ALL)
     private Set<ScholarshipApplication> applications = new HashSet<>();
     
@@ -174,6 +188,21 @@ public class Scholarship {
         isActive = active;
     }
     
+    public long getVersion() {
+        return version;
+    }
+    
+    public Instant getLastModified() {
+        return lastModified;
+    }
+    
+    // Whole seconds, as that is all Last-Modified / If-Modified-Since can carry
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        lastModified = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+    
     public Set<ScholarshipApplication> getApplications() {
         return applications;
     }
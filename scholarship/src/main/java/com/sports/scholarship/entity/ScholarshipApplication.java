@@ -8,19 +8,34 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "scholarship_applications")
+@Table(name = "scholarship_applications", uniqueConstraints = {
+    @UniqueConstraint(name = ScholarshipApplication.USER_SCHOLARSHIP_CONSTRAINT, columnNames = {"user_id", "scholarship_id"})
+}, indexes = {
+    @Index(name = "idx_application_scholarship_date", columnList = "scholarship_id, application_date, id"),
+    @Index(name = "idx_application_status_date", columnList = "status, application_date, id"),
+    @Index(name = "idx_application_scholarship_status_date", columnList = "scholarship_id, status, application_date, id")
+})
 public class ScholarshipApplication {
     
+    // One application per user and scholarship; submissions rely on it instead of a pre-check
+    public static final String USER_SCHOLARSHIP_CONSTRAINT = "uk_application_user_scholarship";
+    
+    // Named so a submit for an unknown user or a just-deleted scholarship can be told apart from
+    // other integrity errors
+    public static final String USER_FOREIGN_KEY = "fk_application_user";
+    public static final String SCHOLARSHIP_FOREIGN_KEY = "fk_application_scholarship";
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "scholarship_applications_seq")
+    @SequenceGenerator(name = "scholarship_applications_seq", sequenceName = "scholarship_applications_seq", allocationSize = 50)
     private Long id;
     
-    @ManyToOne
-    @JoinColumn(name = "user_id", nullable = false)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = USER_FOREIGN_KEY))
     private User user;
     
-    @ManyToOne
-    @JoinColumn(name = "scholarship_id", nullable = false)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "scholarship_id", nullable = false, foreignKey = @ForeignKey(name = SCHOLARSHIP_FOREIGN_KEY))
     private Scholarship scholarship;
     
     @NotBlank
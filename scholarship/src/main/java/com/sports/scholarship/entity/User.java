@@ -1,5 +1,6 @@
 package com.sports.scholarship.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -8,18 +9,26 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+    @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username"),
+    @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email")
+})
 public class User {
     
+    // Named so that a signup losing a race can be told which of the two was taken
+    public static final String USERNAME_CONSTRAINT = "uk_user_username";
+    public static final String EMAIL_CONSTRAINT = "uk_user_email";
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank
     @Size(max = 50)
-    @Column(unique = true)
     private String username;
     
+    @JsonIgnore
     @NotBlank
     @Size(max = 120)
     private String password;
@@ -27,7 +36,6 @@ public class User {
     @NotBlank
     @Size(max = 50)
     @Email
-    @Column(unique = true)
     private String email;
     
     @NotBlank
@@ -41,6 +49,7 @@ public class User {
     @Enumerated(EnumType.STRING)
     private Role role;
     
+    @JsonIgnore
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
     private Set<ScholarshipApplication> applications = new HashSet<>();
     
@@ -0,0 +1,85 @@
+package com.sports.scholarship.repository;
+
+import com.sports.scholarship.dto.BulkReviewRequest;
+import com.sports.scholarship.entity.ApplicationStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Status changes written with plain JDBC: batched statements for per-item reviews and a
+// single set-based UPDATE for whole-scholarship transitions, with no entities loaded.
+@Repository
+public class ApplicationStatusBatchRepository {
+    
+    // Keeps existing comments when an item gives none
+    private static final String UPDATE_STATUS_SQL = "update scholarship_applications set status = ?, "
+        + "reviewer_comments = coalesce(?, reviewer_comments), review_date = ? where id = ?";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+    
+    // Applicant of each application that exists, by application id
+    public Map<Long, Long> findOwners(Collection<Long> ids) {
+        Map<Long, Long> owners = new HashMap<>();
+        if (ids.isEmpty()) {
+            return owners;
+        }
+        namedJdbcTemplate.query("select id, user_id from scholarship_applications where id in (:ids)",
+            new MapSqlParameterSource("ids", ids), rs -> {
+                owners.put(rs.getLong(1), rs.getLong(2));
+            });
+        return owners;
+    }
+    
+    public void updateStatuses(List<BulkReviewRequest.Item> items, LocalDateTime reviewDate, int batchSize) {
+        Timestamp reviewedAt = Timestamp.valueOf(reviewDate);
+        jdbcTemplate.batchUpdate(UPDATE_STATUS_SQL, items, batchSize, (ps, item) -> {
+            ps.setString(1, item.getStatus().name());
+            ps.setString(2, item.getComments());
+            ps.setTimestamp(3, reviewedAt);
+            ps.setLong(4, item.getId());
+        });
+    }
+    
+    // Applicant of each application transition() would move, by application id
+    public Map<Long, Long> findTransitionOwners(Long scholarshipId, Collection<ApplicationStatus> fromStatuses) {
+        Map<Long, Long> owners = new HashMap<>();
+        namedJdbcTemplate.query(
+            "select id, user_id from scholarship_applications where scholarship_id = :scholarshipId and status in (:fromStatuses)",
+            new MapSqlParameterSource()
+                .addValue("scholarshipId", scholarshipId)
+                .addValue("fromStatuses", fromStatuses.stream().map(Enum::name).toList()),
+            rs -> {
+                owners.put(rs.getLong(1), rs.getLong(2));
+            });
+        return owners;
+    }
+    
+    // Keeps existing comments when none are given
+    public int transition(Long scholarshipId, Collection<ApplicationStatus> fromStatuses, ApplicationStatus status,
+                          String comments, LocalDateTime reviewDate) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("status", status.name())
+            .addValue("comments", comments)
+            .addValue("reviewDate", Timestamp.valueOf(reviewDate))
+            .addValue("scholarshipId", scholarshipId)
+            .addValue("fromStatuses", fromStatuses.stream().map(Enum::name).toList());
+        return namedJdbcTemplate.update(
+            "update scholarship_applications set status = :status, "
+                + "reviewer_comments = coalesce(:comments, reviewer_comments), review_date = :reviewDate "
+                + "where scholarship_id = :scholarshipId and status in (:fromStatuses)",
+            params);
+    }
+}
@@ -0,0 +1,66 @@
+package com.sports.scholarship.repository;
+
+import com.sports.scholarship.dto.PageCursor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+
+public final class KeysetSpecifications {
+    
+    private KeysetSpecifications() {}
+    
+    public static Sort.Direction direction(String direction, Sort.Direction defaultDirection) {
+        if (direction == null || direction.isBlank()) {
+            return defaultDirection;
+        }
+        try {
+            return Sort.Direction.fromString(direction);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid sort direction: " + direction);
+        }
+    }
+    
+    public static Sort byId(Sort.Direction direction) {
+        return Sort.by(direction, "id");
+    }
+    
+    public static Sort byDateThenId(String dateAttribute, Sort.Direction direction) {
+        return Sort.by(direction, dateAttribute).and(Sort.by(direction, "id"));
+    }
+    
+    // Rows strictly after the cursor in (id) order
+    public static <T> Specification<T> idAfter(PageCursor cursor, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return null;
+            }
+            return direction.isAscending()
+                ? cb.greaterThan(root.<Long>get("id"), cursor.getId())
+                : cb.lessThan(root.<Long>get("id"), cursor.getId());
+        };
+    }
+    
+    // Rows strictly after the cursor in (date, id) order
+    public static <T> Specification<T> dateThenIdAfter(String dateAttribute, PageCursor cursor, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return null;
+            }
+            if (cursor.getDate() == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+            LocalDateTime date = cursor.getDate();
+            if (direction.isAscending()) {
+                return cb.or(
+                    cb.greaterThan(root.<LocalDateTime>get(dateAttribute), date),
+                    cb.and(cb.equal(root.get(dateAttribute), date), cb.greaterThan(root.<Long>get("id"), cursor.getId())));
+            }
+            return cb.or(
+                cb.lessThan(root.<LocalDateTime>get(dateAttribute), date),
+                cb.and(cb.equal(root.get(dateAttribute), date), cb.lessThan(root.<Long>get("id"), cursor.getId())));
+        };
+    }
+}
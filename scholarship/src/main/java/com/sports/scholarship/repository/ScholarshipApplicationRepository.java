@@ -1,15 +1,57 @@
 package com.sports.scholarship.repository;
 
+import com.sports.scholarship.dto.ApplicationExportRow;
+import com.sports.scholarship.entity.ApplicationStatus;
 import com.sports.scholarship.entity.ScholarshipApplication;
 import com.sports.scholarship.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ScholarshipApplicationRepository extends JpaRepository<ScholarshipApplication, Long> {
+public interface ScholarshipApplicationRepository extends JpaRepository<ScholarshipApplication, Long>, JpaSpecificationExecutor<ScholarshipApplication> {
+    
+    interface DocumentRef {
+        Long getApplicationId();
+        String getDocument();
+    }
+    
     List<ScholarshipApplication> findByUser(User user);
     List<ScholarshipApplication> findByUserId(Long userId);
     List<ScholarshipApplication> findByScholarshipId(Long scholarshipId);
+    List<ScholarshipApplication> findByStatus(ApplicationStatus status);
+    
+    // Everything an application detail view needs, in a single select
+    @EntityGraph(attributePaths = {"user", "scholarship", "documents"})
+    Optional<ScholarshipApplication> findDetailedById(Long id);
+    
+    @EntityGraph(attributePaths = {"user", "scholarship", "documents"})
+    List<ScholarshipApplication> findDetailedByUserIdOrderByApplicationDateDesc(Long userId);
+    
     boolean existsByUserIdAndScholarshipId(Long userId, Long scholarshipId);
+    
+    // Plain rows rather than entities, so a long export adds nothing to the persistence context.
+    // On MySQL the fetch size only streams with useCursorFetch=true on the connection URL.
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.sports.scholarship.dto.ApplicationExportRow(a.id, u.id, u.username, u.fullName, u.email, u.phone, "
+        + "a.status, a.applicationDate, a.reviewDate, a.personalStatement, a.academicPerformance, a.sportsAchievements, "
+        + "a.financialNeed, a.reviewerComments) "
+        + "from ScholarshipApplication a join a.user u where a.scholarship.id = :scholarshipId order by a.applicationDate, a.id")
+    Stream<ApplicationExportRow> streamExportRows(@Param("scholarshipId") Long scholarshipId);
+    
+    @Query("select a.id as applicationId, d as document from ScholarshipApplication a join a.documents d where a.id in :ids")
+    List<DocumentRef> findDocuments(@Param("ids") Collection<Long> ids);
 }
@@ -2,13 +2,19 @@ package com.sports.scholarship.repository;
 
 import com.sports.scholarship.entity.Scholarship;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface ScholarshipRepository extends JpaRepository<Scholarship, Long> {
+public interface ScholarshipRepository extends JpaRepository<Scholarship, Long>, JpaSpecificationExecutor<Scholarship> {
     List<Scholarship> findByIsActiveTrue();
     List<Scholarship> findBySport(String sport);
     List<Scholarship> findByCategory(String category);
     List<Scholarship> findByIsActiveTrueAndApplicationDeadlineAfter(java.time.LocalDate date);
+    
+    @Query("select count(s) > 0 from Scholarship s where s.id = :id and s.isActive = true and s.applicationDeadline > :today")
+    boolean isOpenForApplications(@Param("id") Long id, @Param("today") java.time.LocalDate today);
 }
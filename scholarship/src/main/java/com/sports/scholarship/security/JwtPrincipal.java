@@ -0,0 +1,13 @@
+package com.sports.scholarship.security;
+
+import com.sports.scholarship.entity.Role;
+
+import java.util.Date;
+
+// Identity carried in a verified token; the filter installs it without touching the database
+public record JwtPrincipal(Long userId, String username, Role role, Date expiresAt) {
+    
+    public boolean isExpired() {
+        return expiresAt.before(new Date());
+    }
+}
@@ -1,30 +1,64 @@
 package com.sports.scholarship.security;
 
+import com.sports.scholarship.entity.Role;
+import com.sports.scholarship.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
     
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLE_CLAIM = "role";
+    
     @Value("${jwt.secret}")
     private String secret;
     
     @Value("${jwt.expiration}")
     private Long expiration;
     
-    private Key getSigningKey() {
-        byte[] keyBytes = secret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Value("${jwt.verified-cache-size:10000}")
+    private int verifiedCacheSize;
+    
+    // Key and parser are immutable and thread-safe, so they are built once
+    private Key signingKey;
+    private JwtParser parser;
+    
+    // LRU of tokens whose signature has already been checked; entries are still expiry-checked on use
+    private Map<String, JwtPrincipal> verifiedTokens;
+    private final ReentrantLock verifiedTokensLock = new ReentrantLock();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    
+    public record Stats(long hits, long misses, int size) {}
+    
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        verifiedTokens = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JwtPrincipal> eldest) {
+                return size() > verifiedCacheSize;
+            }
+        };
     }
     
     public String extractUsername(String token) {
@@ -41,11 +75,7 @@ public class JwtUtil {
     }
     
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
     
     private Boolean isTokenExpired(String token) {
@@ -57,13 +87,20 @@ public class JwtUtil {
         return createToken(claims, userDetails.getUsername());
     }
     
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, user.getId());
+        claims.put(ROLE_CLAIM, user.getRole().name());
+        return createToken(claims, user.getUsername());
+    }
+    
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
     
@@ -71,4 +108,62 @@ public class JwtUtil {
         final String username = extractUsername(token);
         return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
     }
+    
+    // Verifies the token (or finds it already verified) and returns its identity.
+    // Throws JwtException for a bad signature, a malformed token or an expired one.
+    public JwtPrincipal verify(String token) {
+        JwtPrincipal cached = cachedPrincipal(token);
+        if (cached != null) {
+            cacheHits.incrementAndGet();
+            if (cached.isExpired()) {
+                evict(token);
+                throw new ExpiredJwtException(null, null, "Token expired");
+            }
+            return cached;
+        }
+        cacheMisses.incrementAndGet();
+        
+        Claims claims = extractAllClaims(token);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        JwtPrincipal principal = new JwtPrincipal(
+            claims.get(USER_ID_CLAIM, Long.class),
+            claims.getSubject(),
+            role != null ? Role.valueOf(role) : null,
+            claims.getExpiration()
+        );
+        verifiedTokensLock.lock();
+        try {
+            verifiedTokens.put(token, principal);
+        } finally {
+            verifiedTokensLock.unlock();
+        }
+        return principal;
+    }
+    
+    public Stats getStats() {
+        verifiedTokensLock.lock();
+        try {
+            return new Stats(cacheHits.get(), cacheMisses.get(), verifiedTokens.size());
+        } finally {
+            verifiedTokensLock.unlock();
+        }
+    }
+    
+    private JwtPrincipal cachedPrincipal(String token) {
+        verifiedTokensLock.lock();
+        try {
+            return verifiedTokens.get(token);
+        } finally {
+            verifiedTokensLock.unlock();
+        }
+    }
+    
+    private void evict(String token) {
+        verifiedTokensLock.lock();
+        try {
+            verifiedTokens.remove(token);
+        } finally {
+            verifiedTokensLock.unlock();
+        }
+    }
 }
@@ -0,0 +1,153 @@
+package com.sports.scholarship.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Runs BCrypt on a small dedicated pool so a login burst cannot occupy every request thread.
+// When the pool and its queue are full, callers get RejectedExecutionException straight away
+// and the controllers answer 429 instead of queueing without bound.
+@Component
+public class PasswordHasher {
+    
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Value("${security.bcrypt.strength:10}")
+    private int strength;
+    
+    @Value("${security.bcrypt.timeout:PT5S}")
+    private Duration timeout;
+    
+    private final ThreadPoolExecutor executor;
+    private final Timer hashTimer;
+    private final AtomicLong rejected = new AtomicLong();
+    
+    // Hash of a random password, checked when the user does not exist so unknown
+    // usernames take as long to reject as wrong passwords
+    private volatile String dummyHash;
+    
+    public record Stats(long rejected, int queueDepth, int activeThreads) {}
+    
+    public PasswordHasher(@Value("${security.bcrypt.threads:0}") int threads,
+                          @Value("${security.bcrypt.queue-capacity:64}") int queueCapacity,
+                          MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "bcrypt-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        // Percentiles are set in application.properties, like the other timers
+        this.hashTimer = Timer.builder("auth.bcrypt.hash")
+            .description("One BCrypt hash or check on the pool, without the time spent queued")
+            .register(meterRegistry);
+    }
+    
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            run(() -> passwordEncoder.matches(rawPassword, dummyHash()));
+            return false;
+        }
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+    
+    public String encode(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+    
+    // Re-encodes in the background; a full pool just skips it until the next login
+    public CompletableFuture<String> encodeAsync(String rawPassword) {
+        try {
+            return CompletableFuture.supplyAsync(() -> hashTimer.record(() -> passwordEncoder.encode(rawPassword)), executor);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    // True when the stored hash was made with a different cost than the one configured now
+    public boolean needsRehash(String encodedPassword) {
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return !matcher.find() || Integer.parseInt(matcher.group(1)) != strength;
+    }
+    
+    public Stats getStats() {
+        return new Stats(rejected.get(), executor.getQueue().size(), executor.getActiveCount());
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    // A caller that times out marks its task abandoned, and a task still in the queue then
+    // skips the hash. One that has already started runs to the end, since BCrypt does not
+    // check for interrupts (and cancelling a CompletableFuture would not interrupt it anyway);
+    // that is at most one hash at the configured cost.
+    private <T> T run(Supplier<T> task) {
+        AtomicBoolean abandoned = new AtomicBoolean();
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> {
+                if (abandoned.get()) {
+                    throw new CancellationException("The caller stopped waiting");
+                }
+                return hashTimer.record(task);
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw e;
+        }
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            abandoned.set(true);
+            rejected.incrementAndGet();
+            throw new RejectedExecutionException("Password hashing timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+    
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode(Long.toHexString(System.nanoTime()));
+            dummyHash = hash;
+        }
+        return hash;
+    }
+}
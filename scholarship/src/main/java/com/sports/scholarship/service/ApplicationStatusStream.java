@@ -0,0 +1,418 @@
+package com.sports.scholarship.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sports.scholarship.dto.ApplicationStatusChanges;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Live status changes for the students' status pages, as Server-Sent Events. A stream is an
+// SseEmitter on an async request, so an idle one holds a socket and its queue but no thread.
+// Events are written by tasks on the streams' own writer executor, never by the thread that
+// made the change and never on Boot's shared task executor, where long exports run: one
+// virtual thread per task on Java 21+, otherwise applications.stream.writer-threads threads.
+//
+// Event ids come from one sequence seeded from the clock, so they keep increasing across
+// restarts. The last replay-size events of each recently connected student are kept, and a
+// reconnect that sends Last-Event-ID gets what it missed. When that cannot be vouched for
+// (events were dropped from the replay, or it predates this process) it gets a "resync"
+// event instead and the page reloads the list.
+@Component
+public class ApplicationStatusStream {
+    
+    private static final String STATUS_EVENT = "status";
+    private static final String RESYNC_EVENT = "resync";
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    // A comment line this often keeps proxies from closing an idle stream and finds dead ones
+    @Value("${applications.stream.heartbeat:PT25S}")
+    private Duration heartbeat;
+    
+    // After this the request ends and the page reconnects with Last-Event-ID
+    @Value("${applications.stream.timeout:PT30M}")
+    private Duration timeout;
+    
+    // Events queued for one connection before it counts as too slow and is closed
+    @Value("${applications.stream.buffer-size:64}")
+    private int bufferSize;
+    
+    @Value("${applications.stream.replay-size:32}")
+    private int replaySize;
+    
+    // How long a student's replay is kept after their last stream closes
+    @Value("${applications.stream.replay-retention:PT10M}")
+    private Duration replayRetention;
+    
+    // Opening one more closes the oldest
+    @Value("${applications.stream.max-connections-per-user:4}")
+    private int maxConnectionsPerUser;
+    
+    @Value("${applications.stream.reconnect-delay:PT3S}")
+    private Duration reconnectDelay;
+    
+    // Writer pool size where there are no virtual threads; a send stuck on a slow socket holds
+    // one until the socket gives way
+    @Value("${applications.stream.writer-threads:16}")
+    private int writerThreads;
+    
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final ConcurrentMap<Long, UserStreams> users = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong overflows = new AtomicLong();
+    
+    private Executor writer;
+    
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "status-stream-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public record Stats(int connections, int users, long published, long overflows) {}
+    
+    // Without a name and data the event is a comment; with id 0 it does not move Last-Event-ID
+    private record Event(long id, String name, String data) {}
+    
+    private static final Event HEARTBEAT = new Event(0, null, null);
+    
+    @PostConstruct
+    public void start() {
+        if (Runtime.version().feature() >= 21) {
+            SimpleAsyncTaskExecutor virtualThreads = new SimpleAsyncTaskExecutor("status-stream-");
+            virtualThreads.setVirtualThreads(true);
+            writer = virtualThreads;
+        } else {
+            AtomicInteger threadNumber = new AtomicInteger();
+            writer = new ThreadPoolExecutor(writerThreads, writerThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "status-stream-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        }
+        scheduler.scheduleWithFixedDelay(this::beat, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+        users.values().forEach(UserStreams::closeAll);
+        if (writer instanceof ExecutorService pool) {
+            pool.shutdown();
+        }
+    }
+    
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Connection connection = new Connection(emitter);
+        emitter.onCompletion(() -> disconnect(userId, connection));
+        // Ends the response normally; the page reconnects with its Last-Event-ID
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> disconnect(userId, connection));
+        
+        Long resumeAfter = parseId(lastEventId);
+        // Registered under the map's lock, so the sweep cannot drop the entry in between
+        users.compute(userId, (id, streams) -> {
+            UserStreams current = streams != null ? streams : new UserStreams(sequence.get());
+            current.add(connection, resumeAfter);
+            return current;
+        });
+        connections.incrementAndGet();
+        return emitter;
+    }
+    
+    // Runs after the writing transaction commits, or straight away when there was none
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanges(ApplicationStatusChanges changes) {
+        for (ApplicationStatusChanges.Change change : changes.changes()) {
+            UserStreams streams = users.get(change.userId());
+            // Nobody is watching and nobody will resume, since a fresh page loads the list
+            if (streams == null) {
+                continue;
+            }
+            String data;
+            try {
+                data = objectMapper.writeValueAsString(change);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize status change", e);
+            }
+            streams.publish(STATUS_EVENT, data);
+            published.incrementAndGet();
+        }
+    }
+    
+    public Stats getStats() {
+        return new Stats(connections.get(), users.size(), published.get(), overflows.get());
+    }
+    
+    private void disconnect(Long userId, Connection connection) {
+        UserStreams streams = users.get(userId);
+        if (streams != null && streams.remove(connection)) {
+            connections.decrementAndGet();
+        }
+    }
+    
+    private void beat() {
+        long now = System.nanoTime();
+        for (Long userId : users.keySet()) {
+            users.computeIfPresent(userId, (id, streams) -> streams.isExpired(now) ? null : streams);
+        }
+        users.values().forEach(UserStreams::heartbeat);
+    }
+    
+    private static Long parseId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+    
+    // One student's open streams and recent events. Publishing and registering hold its lock,
+    // so a reconnect sees each event either in the replay or in its queue, never both or neither.
+    private final class UserStreams {
+        
+        private final ReentrantLock lock = new ReentrantLock();
+        // Every event for this student after this id is in the replay unless dropped from it
+        private final long since;
+        private final ArrayDeque<Event> replay = new ArrayDeque<>();
+        private final List<Connection> open = new ArrayList<>();
+        private long droppedUpTo;
+        private long idleSince = System.nanoTime();
+        
+        UserStreams(long since) {
+            this.since = since;
+        }
+        
+        void add(Connection connection, Long resumeAfter) {
+            lock.lock();
+            try {
+                if (open.size() >= maxConnectionsPerUser) {
+                    open.remove(0).close();
+                    connections.decrementAndGet();
+                }
+                open.add(connection);
+                if (resumeAfter == null) {
+                    // An id from the start, so a reconnect before the first change still resumes
+                    connection.enqueue(new Event(sequence.get(), null, null));
+                } else if (resumeAfter < Math.max(since, droppedUpTo)) {
+                    connection.enqueue(new Event(sequence.get(), RESYNC_EVENT, "{}"));
+                } else {
+                    connection.enqueue(HEARTBEAT);
+                    for (Event event : replay) {
+                        if (event.id() > resumeAfter) {
+                            connection.enqueue(event);
+                        }
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        boolean remove(Connection connection) {
+            lock.lock();
+            try {
+                boolean removed = open.remove(connection);
+                if (open.isEmpty()) {
+                    idleSince = System.nanoTime();
+                }
+                return removed;
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        void publish(String name, String data) {
+            lock.lock();
+            try {
+                Event event = new Event(sequence.incrementAndGet(), name, data);
+                replay.addLast(event);
+                if (replay.size() > replaySize) {
+                    droppedUpTo = replay.removeFirst().id();
+                }
+                for (Connection connection : open) {
+                    connection.enqueue(event);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        void heartbeat() {
+            lock.lock();
+            try {
+                for (Connection connection : open) {
+                    connection.enqueue(HEARTBEAT);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        boolean isExpired(long now) {
+            lock.lock();
+            try {
+                return open.isEmpty() && now - idleSince > replayRetention.toNanos();
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        void closeAll() {
+            lock.lock();
+            try {
+                open.forEach(Connection::close);
+                open.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+    
+    // One open stream with its own bounded queue. A single drain task at a time writes it out,
+    // so a slow client holds up only itself; one that falls bufferSize events behind is closed
+    // and catches up from the replay when it reconnects. The drain task also completes the
+    // emitter, after any send in progress, so closing never parks a second writer thread.
+    private final class Connection {
+        
+        private final ReentrantLock lock = new ReentrantLock();
+        private final SseEmitter emitter;
+        private final ArrayDeque<Event> queue = new ArrayDeque<>();
+        private boolean first = true;
+        private boolean draining;
+        private boolean closed;
+        
+        Connection(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+        
+        void enqueue(Event event) {
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                if (queue.size() >= bufferSize) {
+                    overflows.incrementAndGet();
+                    closeLocked();
+                    return;
+                }
+                queue.addLast(event);
+                scheduleDrain();
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        void close() {
+            lock.lock();
+            try {
+                closeLocked();
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        private void closeLocked() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.clear();
+            scheduleDrain();
+        }
+        
+        private void scheduleDrain() {
+            if (!draining) {
+                draining = true;
+                writer.execute(this::drain);
+            }
+        }
+        
+        private void drain() {
+            while (true) {
+                Event event;
+                boolean reconnectTime;
+                lock.lock();
+                try {
+                    if (closed) {
+                        // draining stays set: nothing is sent on this connection again
+                        event = null;
+                        reconnectTime = false;
+                    } else {
+                        event = queue.pollFirst();
+                        if (event == null) {
+                            draining = false;
+                            return;
+                        }
+                        reconnectTime = first;
+                        first = false;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                if (event == null) {
+                    emitter.complete();
+                    return;
+                }
+                SseEmitter.SseEventBuilder builder = SseEmitter.event();
+                if (reconnectTime) {
+                    builder.reconnectTime(reconnectDelay.toMillis());
+                }
+                if (event.id() != 0) {
+                    builder.id(Long.toString(event.id()));
+                }
+                if (event.data() == null) {
+                    builder.comment("");
+                } else {
+                    builder.name(event.name()).data(event.data());
+                }
+                try {
+                    emitter.send(builder);
+                } catch (IOException | IllegalStateException e) {
+                    // The client went away; onError/onCompletion unregister it
+                    lock.lock();
+                    try {
+                        closed = true;
+                        queue.clear();
+                    } finally {
+                        lock.unlock();
+                    }
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+    }
+}
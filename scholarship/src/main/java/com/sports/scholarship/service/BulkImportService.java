@@ -0,0 +1,478 @@
+package com.sports.scholarship.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sports.scholarship.dto.ImportReport;
+import com.sports.scholarship.dto.UserDto;
+import com.sports.scholarship.entity.Role;
+import com.sports.scholarship.entity.Scholarship;
+import com.sports.scholarship.entity.User;
+import com.sports.scholarship.repository.ScholarshipRepository;
+import com.sports.scholarship.repository.UserRepository;
+import com.sports.scholarship.security.PasswordHasher;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+// Imports scholarships and users from CSV (with a header row) or NDJSON request bodies.
+// The body is read record by record and handled in chunks of imports.batch-size: the chunk
+// is validated in parallel, checked for duplicates, and inserted in one transaction, so
+// memory stays at one chunk however large the file is. Rows that fail are reported and
+// skipped; the rest of the file still goes in.
+@Service
+public class BulkImportService {
+    
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    
+    private static final int HASH_ATTEMPTS = 5;
+    
+    @Autowired
+    private ScholarshipRepository scholarshipRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private ScholarshipCatalogCache catalogCache;
+    
+    @Autowired
+    private ScholarshipTextIndex textIndex;
+    
+    @Autowired
+    private UserIdentityFilter identityFilter;
+    
+    @Autowired
+    private PasswordHasher passwordHasher;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${imports.batch-size:500}")
+    private int batchSize;
+    
+    @Value("${imports.max-reported-errors:1000}")
+    private int maxReportedErrors;
+    
+    private final CsvMapper csvMapper = CsvMapper.builder()
+        .addModule(new JavaTimeModule())
+        .enable(CsvParser.Feature.TRIM_SPACES)
+        .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .build();
+    
+    private final int workers;
+    private final ThreadPoolExecutor executor;
+    
+    public BulkImportService(@Value("${imports.workers:0}") int workers) {
+        this.workers = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        // A full queue (several imports at once) makes the importing thread do the work itself
+        this.executor = new ThreadPoolExecutor(this.workers, this.workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(this.workers * 4),
+            runnable -> {
+                Thread thread = new Thread(runnable, "import-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+    
+    public ImportReport importScholarships(InputStream body, MediaType contentType) throws IOException {
+        AtomicBoolean inserted = new AtomicBoolean();
+        try {
+            return importRows(body, contentType, Scholarship.class, rows -> {
+                if (insertScholarships(rows)) {
+                    inserted.set(true);
+                }
+            });
+        } finally {
+            // Also when a later chunk fails: the chunks before it are committed
+            if (inserted.get()) {
+                catalogCache.invalidate();
+            }
+        }
+    }
+    
+    // Imported users get the STUDENT role, the same as self-registration
+    public ImportReport importUsers(InputStream body, MediaType contentType) throws IOException {
+        return importRows(body, contentType, UserDto.class, this::insertUsers);
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    private <T> ImportReport importRows(InputStream body, MediaType contentType, Class<T> type,
+                                        Consumer<List<Row<T>>> insert) throws IOException {
+        Report report = new Report(maxReportedErrors);
+        try (MappingIterator<T> records = open(body, contentType, type)) {
+            List<Row<T>> chunk = new ArrayList<>(batchSize);
+            long number = 0;
+            JsonProcessingException unreadable = null;
+            while (true) {
+                try {
+                    if (!records.hasNextValue()) {
+                        break;
+                    }
+                } catch (JsonProcessingException e) {
+                    unreadable = e;
+                    break;
+                }
+                number++;
+                try {
+                    chunk.add(new Row<>(number, records.nextValue()));
+                } catch (JsonMappingException e) {
+                    // One bad record; the iterator skips past it on the next call
+                    chunk.add(Row.failed(number, describe(e)));
+                } catch (JsonProcessingException e) {
+                    number--;
+                    unreadable = e;
+                    break;
+                }
+                if (chunk.size() == batchSize) {
+                    process(chunk, insert, report);
+                    chunk = new ArrayList<>(batchSize);
+                }
+            }
+            process(chunk, insert, report);
+            if (unreadable != null) {
+                report.stop(number + 1, unreadable);
+            }
+        }
+        return report.toResult();
+    }
+    
+    private <T> MappingIterator<T> open(InputStream body, MediaType contentType, Class<T> type) throws IOException {
+        if (TEXT_CSV.isCompatibleWith(contentType)) {
+            return csvMapper.readerFor(type).with(CsvSchema.emptySchema().withHeader()).readValues(body);
+        }
+        if (NDJSON.isCompatibleWith(contentType)) {
+            return objectMapper.readerFor(type).readValues(body);
+        }
+        throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Send text/csv or application/x-ndjson");
+    }
+    
+    private <T> void process(List<Row<T>> chunk, Consumer<List<Row<T>>> insert, Report report) {
+        inParallel(chunk, row -> {
+            if (row.ok()) {
+                row.fail(violations(row.value));
+            }
+        });
+        List<Row<T>> valid = chunk.stream().filter(Row::ok).toList();
+        if (!valid.isEmpty()) {
+            insert.accept(valid);
+        }
+        chunk.forEach(report::add);
+    }
+    
+    // Returns whether any row went in
+    private boolean insertScholarships(List<Row<Scholarship>> rows) {
+        List<Scholarship> scholarships = rows.stream().map(row -> row.value).toList();
+        // Always new rows, whatever id the file carries
+        scholarships.forEach(scholarship -> scholarship.setId(null));
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(() -> scholarshipRepository.saveAllAndFlush(scholarships)));
+        } catch (DataIntegrityViolationException e) {
+            // A value the table does not take (e.g. longer than its column); find it row by row
+            for (Row<Scholarship> row : rows) {
+                row.value.setId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(() -> scholarshipRepository.saveAndFlush(row.value)));
+                } catch (DataIntegrityViolationException rowException) {
+                    row.value.setId(null);
+                    row.fail("Rejected by the database: a value is too long or out of range for its column");
+                }
+            }
+        }
+        List<Scholarship> saved = rows.stream().filter(Row::ok).map(row -> row.value).toList();
+        saved.forEach(textIndex::put);
+        return !saved.isEmpty();
+    }
+    
+    private void insertUsers(List<Row<UserDto>> rows) {
+        // Clashes inside the chunk first; case-folded like the unique indexes
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        List<Row<UserDto>> candidates = new ArrayList<>(rows.size());
+        for (Row<UserDto> row : rows) {
+            String username = fold(row.value.getUsername());
+            String email = fold(row.value.getEmail());
+            if (usernames.contains(username)) {
+                row.fail("Username appears earlier in this file");
+            } else if (emails.contains(email)) {
+                row.fail("Email appears earlier in this file");
+            } else {
+                usernames.add(username);
+                emails.add(email);
+                candidates.add(row);
+            }
+        }
+        
+        // Then against the table, asking only about names the registration filter cannot rule out
+        Set<String> takenUsernames = existing(candidates.stream()
+            .map(row -> row.value.getUsername())
+            .filter(identityFilter::mightHaveUsername)
+            .toList(), true);
+        Set<String> takenEmails = existing(candidates.stream()
+            .map(row -> row.value.getEmail())
+            .filter(identityFilter::mightHaveEmail)
+            .toList(), false);
+        List<PendingUser> pending = new ArrayList<>(candidates.size());
+        for (Row<UserDto> row : candidates) {
+            if (takenUsernames.contains(fold(row.value.getUsername()))) {
+                row.fail("Username already exists");
+            } else if (takenEmails.contains(fold(row.value.getEmail()))) {
+                row.fail("Email already exists");
+            } else {
+                pending.add(new PendingUser(row, new User(row.value.getUsername(), row.value.getEmail(),
+                    null, row.value.getFullName(), row.value.getPhone())));
+            }
+        }
+        
+        // Hashing is the slow part, so only rows that will be inserted get it. The finished
+        // entity is checked against its own constraints, which Hibernate enforces on insert.
+        inParallel(pending, item -> {
+            try {
+                item.user.setPassword(hashPassword(item.row.value.getPassword()));
+                item.user.setRole(Role.STUDENT);
+                item.row.fail(violations(item.user));
+            } catch (RejectedExecutionException e) {
+                item.row.fail("Password hashing is busy, please import this row again");
+            }
+        });
+        List<PendingUser> hashed = pending.stream().filter(item -> item.row.ok()).toList();
+        if (hashed.isEmpty()) {
+            return;
+        }
+        
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                insert(() -> userRepository.saveAllAndFlush(hashed.stream().map(PendingUser::user).toList())));
+        } catch (DataIntegrityViolationException | ConstraintViolationException e) {
+            // A signup or another import took one of the names meanwhile; find it row by row
+            for (PendingUser item : hashed) {
+                item.user.setId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(() -> userRepository.saveAndFlush(item.user)));
+                } catch (ConstraintViolationException rowException) {
+                    item.user.setId(null);
+                    item.row.fail(describe(rowException.getConstraintViolations()));
+                } catch (DataIntegrityViolationException rowException) {
+                    item.user.setId(null);
+                    item.row.fail(userRepository.existsByUsername(item.user.getUsername()) ? "Username already exists"
+                        : userRepository.existsByEmail(item.user.getEmail()) ? "Email already exists"
+                        : "Rejected by the database: a value is too long or out of range for its column");
+                }
+            }
+        }
+        hashed.stream()
+            .filter(item -> item.row.ok())
+            .forEach(item -> identityFilter.add(item.user.getUsername(), item.user.getEmail()));
+    }
+    
+    // The request's open-in-view EntityManager outlives each chunk's transaction, so the
+    // flushed rows are detached to keep later flushes from dirty-checking the whole file
+    private void insert(Runnable save) {
+        try {
+            save.run();
+        } finally {
+            entityManager.clear();
+        }
+    }
+    
+    private Set<String> existing(List<String> values, boolean usernames) {
+        if (values.isEmpty()) {
+            return Set.of();
+        }
+        List<String> found = usernames
+            ? userRepository.findExistingUsernames(values)
+            : userRepository.findExistingEmails(values);
+        return found.stream().map(this::fold).collect(Collectors.toSet());
+    }
+    
+    // Waits for room on the BCrypt pool instead of failing at once like a login would
+    private String hashPassword(String rawPassword) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return passwordHasher.encode(rawPassword);
+            } catch (RejectedExecutionException e) {
+                if (attempt == HASH_ATTEMPTS) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(100L * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+    
+    private <T> void inParallel(List<T> items, Consumer<T> task) {
+        if (items.isEmpty()) {
+            return;
+        }
+        int sliceSize = (items.size() + workers - 1) / workers;
+        List<CompletableFuture<Void>> slices = new ArrayList<>();
+        for (int start = 0; start < items.size(); start += sliceSize) {
+            List<T> slice = items.subList(start, Math.min(start + sliceSize, items.size()));
+            slices.add(CompletableFuture.runAsync(() -> slice.forEach(task), executor));
+        }
+        try {
+            CompletableFuture.allOf(slices.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+    
+    private List<String> violations(Object value) {
+        return describe(validator.validate(value));
+    }
+    
+    private List<String> describe(Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .toList();
+    }
+    
+    private List<String> describe(JsonMappingException e) {
+        String field = e.getPath().isEmpty() ? null : e.getPath().get(e.getPath().size() - 1).getFieldName();
+        String message = e instanceof InvalidFormatException invalid
+            ? "invalid value '" + invalid.getValue() + "'"
+            : e.getOriginalMessage();
+        return List.of(field != null ? field + ": " + message : message);
+    }
+    
+    private String fold(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+    
+    private record PendingUser(Row<UserDto> row, User user) {}
+    
+    // A row is only touched by one worker at a time; join() publishes what it wrote
+    private static final class Row<T> {
+        
+        final long number;
+        final T value;
+        final List<String> errors = new ArrayList<>(0);
+        
+        Row(long number, T value) {
+            this.number = number;
+            this.value = value;
+        }
+        
+        static <T> Row<T> failed(long number, List<String> errors) {
+            Row<T> row = new Row<>(number, null);
+            row.errors.addAll(errors);
+            return row;
+        }
+        
+        boolean ok() {
+            return errors.isEmpty();
+        }
+        
+        void fail(String message) {
+            errors.add(message);
+        }
+        
+        void fail(List<String> messages) {
+            errors.addAll(messages);
+        }
+    }
+    
+    private static final class Report {
+        
+        private final int maxErrors;
+        private final List<ImportReport.RowError> errors = new ArrayList<>();
+        private long rows;
+        private long imported;
+        private long failed;
+        private boolean truncated;
+        
+        Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+        
+        void add(Row<?> row) {
+            rows++;
+            if (row.ok()) {
+                imported++;
+            } else {
+                failed++;
+                error(new ImportReport.RowError(row.number, List.copyOf(row.errors)));
+            }
+        }
+        
+        // Malformed input past which nothing can be read
+        void stop(long number, JsonProcessingException e) {
+            rows++;
+            failed++;
+            error(new ImportReport.RowError(number, List.of("Unreadable input, import stopped here: " + e.getOriginalMessage())));
+        }
+        
+        private void error(ImportReport.RowError error) {
+            if (errors.size() < maxErrors) {
+                errors.add(error);
+            } else {
+                truncated = true;
+            }
+        }
+        
+        ImportReport toResult() {
+            return new ImportReport(rows, imported, failed, errors, truncated);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.sports.scholarship.service;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sports.scholarship.config.BinaryFormatsConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+// Catalog responses held as finished bytes: the JSON (or CBOR/Smile) plus gzip and brotli
+// copies, built the first time each response is asked for after the catalog changes (a new
+// catalog ETag) and kept until the next change. A hit is an Accept-Encoding check and a socket
+// write, with no Jackson and no compressor on the way.
+@Component
+public class CatalogResponseCache {
+    
+    private static final Logger log = LoggerFactory.getLogger(CatalogResponseCache.class);
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+    
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+    
+    // Page responses are keyed by their query, so the key space is open (and public); past this
+    // many, pages are encoded per request and not kept, while the pinned responses still are
+    @Value("${scholarship.response-cache.max-entries:256}")
+    private int maxEntries;
+    
+    @Value("${scholarship.response-cache.brotli-quality:9}")
+    private int brotliQuality;
+    
+    private final boolean brotliAvailable = brotliAvailable();
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong uncached = new AtomicLong();
+    
+    private volatile Entries entries = new Entries("", new ConcurrentHashMap<>());
+    
+    private record Entries(String catalogEtag, ConcurrentMap<String, Encoded> responses) {}
+    
+    // gzip and brotli are null when they come out no smaller than the plain bytes
+    private record Encoded(byte[] identity, byte[] gzip, byte[] brotli) {}
+    
+    // contentEncoding is null for plain bytes; each format and encoding has its own strong ETag
+    public record EncodedResponse(byte[] body, MediaType contentType, String contentEncoding, String etag) {}
+    
+    public record Stats(long hits, long misses, long uncached, int entries) {}
+    
+    // format is one of negotiate()'s answers. A pinned key (a fixed response such as /available)
+    // is always kept; others only while there is room.
+    public EncodedResponse get(ScholarshipCatalogCache.Snapshot catalog, String key, boolean pinned, MediaType format,
+                               String acceptEncoding, Supplier<?> body) {
+        Entries current = entries;
+        if (!current.catalogEtag().equals(catalog.etag())) {
+            // Entries only ever answer for their own ETag, so a request still holding the
+            // previous snapshot can at worst cost a rebuild, never a stale body
+            current = new Entries(catalog.etag(), new ConcurrentHashMap<>());
+            entries = current;
+        }
+        
+        String etag = etagFor(catalog.etag(), format);
+        String formatKey = format.getSubtype() + " " + key;
+        Encoded encoded = current.responses().get(formatKey);
+        if (encoded != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            if (!pinned && current.responses().size() >= maxEntries) {
+                uncached.incrementAndGet();
+                return encodeUncached(format, body.get(), acceptEncoding, etag);
+            }
+            encoded = current.responses().computeIfAbsent(formatKey, k -> encode(format, body.get()));
+        }
+        
+        if (encoded.brotli() != null && accepts(acceptEncoding, "br")) {
+            return new EncodedResponse(encoded.brotli(), format, "br", etag + "-br");
+        }
+        if (encoded.gzip() != null && accepts(acceptEncoding, "gzip")) {
+            return new EncodedResponse(encoded.gzip(), format, "gzip", etag + "-gzip");
+        }
+        return new EncodedResponse(encoded.identity(), format, null, etag);
+    }
+    
+    // The format an Accept header asks for most: CBOR or Smile when named with the highest
+    // quality, otherwise JSON (also for a missing or unreadable header). q=0 means "not
+    // acceptable", so such an entry is never picked.
+    public MediaType negotiate(String accept) {
+        if (accept == null) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MediaType best = MediaType.APPLICATION_JSON;
+        double bestQuality = -1;
+        for (MediaType type : accepted) {
+            MediaType format = type.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR) ? MediaType.APPLICATION_CBOR
+                : type.equalsTypeAndSubtype(BinaryFormatsConfig.APPLICATION_SMILE) ? BinaryFormatsConfig.APPLICATION_SMILE
+                : type.isCompatibleWith(MediaType.APPLICATION_JSON) ? MediaType.APPLICATION_JSON
+                : null;
+            if (format != null && type.getQualityValue() > 0 && type.getQualityValue() > bestQuality) {
+                best = format;
+                bestQuality = type.getQualityValue();
+            }
+        }
+        return best;
+    }
+    
+    // One tag per representation, so a JSON copy is never revalidated by a CBOR request
+    public String etagFor(String etag, MediaType format) {
+        return format.equals(MediaType.APPLICATION_JSON) ? etag : etag + "-" + suffixFor(format);
+    }
+    
+    public Stats getStats() {
+        return new Stats(hits.get(), misses.get(), uncached.get(), entries.responses().size());
+    }
+    
+    // Built once per catalog change, so the slowest, smallest settings are worth it
+    private Encoded encode(MediaType format, Object body) {
+        byte[] identity = serialize(format, body);
+        byte[] brotli = brotliAvailable ? brotli(identity) : null;
+        return new Encoded(identity, smallerThan(gzip(identity, Deflater.BEST_COMPRESSION), identity),
+            smallerThan(brotli, identity));
+    }
+    
+    // Thrown away after this request, so only the representation it takes, with the fastest
+    // gzip; its own ETag, since the bytes differ from the kept copy's
+    private EncodedResponse encodeUncached(MediaType format, Object body, String acceptEncoding, String etag) {
+        byte[] identity = serialize(format, body);
+        if (accepts(acceptEncoding, "gzip")) {
+            byte[] gzip = smallerThan(gzip(identity, Deflater.BEST_SPEED), identity);
+            if (gzip != null) {
+                return new EncodedResponse(gzip, format, "gzip", etag + "-gzip-fast");
+            }
+        }
+        return new EncodedResponse(identity, format, null, etag);
+    }
+    
+    private byte[] serialize(MediaType format, Object body) {
+        ObjectMapper mapper = format.equals(MediaType.APPLICATION_CBOR) ? cborConverter.getObjectMapper()
+            : format.equals(BinaryFormatsConfig.APPLICATION_SMILE) ? smileConverter.getObjectMapper()
+            : objectMapper;
+        try {
+            return mapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize catalog response", e);
+        }
+    }
+    
+    private static byte[] gzip(byte[] data, int level) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192) {
+            {
+                def.setLevel(level);
+            }
+        }) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+    
+    private byte[] brotli(byte[] data) {
+        try {
+            return Encoder.compress(data, new Encoder.Parameters().setQuality(brotliQuality));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static String suffixFor(MediaType format) {
+        return format.equals(MediaType.APPLICATION_CBOR) ? "cbor" : "smile";
+    }
+    
+    private static byte[] smallerThan(byte[] encoded, byte[] identity) {
+        return encoded != null && encoded.length < identity.length ? encoded : null;
+    }
+    
+    // Listed with a non-zero q; "*" is not taken as a yes
+    private static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            if (!params[0].trim().equalsIgnoreCase(coding)) {
+                continue;
+            }
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+    
+    // The native library ships for the common platforms; elsewhere responses go out as gzip
+    private static boolean brotliAvailable() {
+        try {
+            Brotli4jLoader.ensureAvailability();
+            return true;
+        } catch (Throwable e) {
+            log.warn("Brotli is not available on this platform, catalog responses will use gzip: {}", e.toString());
+            return false;
+        }
+    }
+}
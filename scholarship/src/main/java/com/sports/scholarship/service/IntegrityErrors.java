@@ -0,0 +1,23 @@
+package com.sports.scholarship.service;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+// Tells integrity errors apart by the name of the key that rejected the row. Keys that callers
+// look for are named on their entities; the driver's message is the fallback when Hibernate
+// could not extract the name.
+final class IntegrityErrors {
+    
+    private IntegrityErrors() {}
+    
+    static boolean isConstraint(DataIntegrityViolationException e, String constraintName) {
+        Throwable cause = e.getCause();
+        if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+            return violation.getConstraintName().toLowerCase(Locale.ROOT).contains(constraintName);
+        }
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(constraintName);
+    }
+}
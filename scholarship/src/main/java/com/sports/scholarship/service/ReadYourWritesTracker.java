@@ -0,0 +1,62 @@
+package com.sports.scholarship.service;
+
+import com.sports.scholarship.security.JwtPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Replicas trail the primary, so right after a user submits or withdraws, their own read-only
+// requests are pinned to the primary for a short window and they see what they just did.
+// Kept in memory per instance, keyed by user id.
+@Component
+public class ReadYourWritesTracker {
+    
+    private static final int PURGE_THRESHOLD = 10_000;
+    
+    @Value("${datasource.replicas.read-your-writes-window:PT5S}")
+    private Duration window;
+    
+    // user id -> nanoTime until which that user reads from the primary
+    private final Map<Long, Long> pinnedUntil = new ConcurrentHashMap<>();
+    
+    public void recordWrite(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (pinnedUntil.size() >= PURGE_THRESHOLD) {
+            pinnedUntil.values().removeIf(until -> now - until >= 0);
+        }
+        pinnedUntil.put(userId, now + window.toNanos());
+    }
+    
+    // True while the authenticated caller is inside the window after their last write
+    public boolean mustReadPrimary() {
+        Long userId = currentUserId();
+        if (userId == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(userId);
+        if (until == null) {
+            return false;
+        }
+        if (System.nanoTime() - until < 0) {
+            return true;
+        }
+        pinnedUntil.remove(userId, until);
+        return false;
+    }
+    
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return principal.userId();
+        }
+        return null;
+    }
+}
@@ -1,20 +1,61 @@
 package com.sports.scholarship.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sports.scholarship.dto.ApplicationExportRow;
+import com.sports.scholarship.dto.ApplicationStatusChanges;
+import com.sports.scholarship.dto.BulkReviewRequest;
+import com.sports.scholarship.dto.BulkReviewResult;
+import com.sports.scholarship.dto.BulkTransitionRequest;
+import com.sports.scholarship.dto.CursorPage;
+import com.sports.scholarship.dto.ExportFormat;
+import com.sports.scholarship.dto.PageCursor;
 import com.sports.scholarship.dto.ScholarshipApplicationDto;
 import com.sports.scholarship.entity.ApplicationStatus;
-import com.sports.scholarship.entity.Scholarship;
 import com.sports.scholarship.entity.ScholarshipApplication;
-import com.sports.scholarship.entity.User;
+import com.sports.scholarship.repository.ApplicationStatusBatchRepository;
+import com.sports.scholarship.repository.KeysetSpecifications;
 import com.sports.scholarship.repository.ScholarshipApplicationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class ScholarshipApplicationService {
     
+    // Fetch graph for list rows: applicant and scholarship joined in, documents left out
+    private static final String[] LIST_GRAPH = {"user", "scholarship"};
+    
+    // Export rows buffered at a time; matches the fetch size of the export query
+    private static final int EXPORT_WINDOW = 500;
+    
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+        .addModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+    
     @Autowired
     private ScholarshipApplicationRepository applicationRepository;
     
@@ -24,21 +65,37 @@ public class ScholarshipApplicationService {
     @Autowired
     private ScholarshipService scholarshipService;
     
+    @Autowired
+    private ApplicationStatusBatchRepository statusBatchRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private ReadYourWritesTracker readYourWrites;
+    
+    // Status changes go out on it for the students' live status pages (ApplicationStatusStream)
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Value("${applications.bulk-review.max-items:20000}")
+    private int bulkReviewMaxItems;
+    
+    @Value("${applications.bulk-review.batch-size:500}")
+    private int bulkReviewBatchSize;
+    
+    // One select to check the scholarship is open, then the insert. The user and scholarship
+    // are attached as references, and duplicates and unknown users are caught by the
+    // unique and foreign keys, which also holds for two submits racing each other. Any other
+    // integrity error is not the client's doing and is rethrown.
     public ScholarshipApplication createApplication(Long userId, ScholarshipApplicationDto applicationDto) {
-        User user = userService.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        Scholarship scholarship = scholarshipService.getScholarshipById(applicationDto.getScholarshipId())
-            .orElseThrow(() -> new RuntimeException("Scholarship not found"));
-        
-        // Check if user has already applied for this scholarship
-        if (applicationRepository.existsByUserIdAndScholarshipId(userId, applicationDto.getScholarshipId())) {
-            throw new RuntimeException("You have already applied for this scholarship");
+        if (!scholarshipService.isOpenForApplications(applicationDto.getScholarshipId())) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Scholarship not found or no longer accepting applications");
         }
         
         ScholarshipApplication application = new ScholarshipApplication(
-            user,
-            scholarship,
+            userService.getUserReference(userId),
+            scholarshipService.getScholarshipReference(applicationDto.getScholarshipId()),
             applicationDto.getPersonalStatement(),
             applicationDto.getAcademicPerformance(),
             applicationDto.getSportsAchievements(),
@@ -49,47 +106,212 @@ public class ScholarshipApplicationService {
             application.setDocuments(applicationDto.getDocuments());
         }
         
-        return applicationRepository.save(application);
+        try {
+            ScholarshipApplication saved = applicationRepository.saveAndFlush(application);
+            readYourWrites.recordWrite(userId);
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            if (IntegrityErrors.isConstraint(e, ScholarshipApplication.USER_SCHOLARSHIP_CONSTRAINT)) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "You have already applied for this scholarship");
+            }
+            if (IntegrityErrors.isConstraint(e, ScholarshipApplication.USER_FOREIGN_KEY)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
+            }
+            if (IntegrityErrors.isConstraint(e, ScholarshipApplication.SCHOLARSHIP_FOREIGN_KEY)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Scholarship not found or no longer accepting applications");
+            }
+            throw e;
+        }
     }
     
+    @Transactional(readOnly = true)
     public List<ScholarshipApplication> getUserApplications(Long userId) {
-        return applicationRepository.findByUserId(userId);
+        return applicationRepository.findDetailedByUserIdOrderByApplicationDateDesc(userId);
     }
     
+    @Transactional(readOnly = true)
     public List<ScholarshipApplication> getScholarshipApplications(Long scholarshipId) {
         return applicationRepository.findByScholarshipId(scholarshipId);
     }
     
+    // Newest first by default; keyset on (applicationDate, id) so deep pages cost the same as the first one
+    @Transactional(readOnly = true)
+    public CursorPage<ScholarshipApplication> getScholarshipApplicationsPage(Long scholarshipId, String cursor,
+                                                                            Integer size, String direction) {
+        int limit = CursorPage.clampSize(size);
+        Sort.Direction sortDirection = KeysetSpecifications.direction(direction, Sort.Direction.DESC);
+        Specification<ScholarshipApplication> spec = Specification
+            .<ScholarshipApplication>where((root, query, cb) -> cb.equal(root.get("scholarship").get("id"), scholarshipId))
+            .and(KeysetSpecifications.dateThenIdAfter("applicationDate", PageCursor.decode(cursor), sortDirection));
+        
+        List<ScholarshipApplication> rows = applicationRepository.findBy(spec,
+            q -> q.sortBy(KeysetSpecifications.byDateThenId("applicationDate", sortDirection))
+                .project(LIST_GRAPH).limit(limit + 1).all());
+        return CursorPage.of(rows, limit, application -> PageCursor.of(application.getApplicationDate(), application.getId()));
+    }
+    
+    @Transactional(readOnly = true)
     public Optional<ScholarshipApplication> getApplicationById(Long id) {
-        return applicationRepository.findById(id);
+        return applicationRepository.findDetailedById(id);
     }
     
+    @Transactional
     public ScholarshipApplication updateApplicationStatus(Long applicationId, ApplicationStatus status, String comments) {
-        ScholarshipApplication application = applicationRepository.findById(applicationId)
+        ScholarshipApplication application = applicationRepository.findDetailedById(applicationId)
             .orElseThrow(() -> new RuntimeException("Application not found"));
         
         application.setStatus(status);
-        application.setReviewerComments(comments);
+        // No comments keeps the ones already there, as bulk reviews and transitions do
+        if (comments != null) {
+            application.setReviewerComments(comments);
+        }
         application.setReviewDate(LocalDateTime.now());
         
-        return applicationRepository.save(application);
+        ScholarshipApplication saved = applicationRepository.save(application);
+        eventPublisher.publishEvent(ApplicationStatusChanges.of(new ApplicationStatusChanges.Change(
+            saved.getId(), saved.getUser().getId(), status, comments, saved.getReviewDate())));
+        return saved;
     }
     
+    // Applies many reviews in one transaction: per chunk, one select to find which ids exist
+    // and one JDBC batch of updates, with an outcome reported for every item
+    @Transactional
+    public BulkReviewResult bulkUpdateStatus(BulkReviewRequest request) {
+        List<BulkReviewRequest.Item> items = request.getItems() != null ? request.getItems() : List.of();
+        if (items.size() > bulkReviewMaxItems) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                "At most " + bulkReviewMaxItems + " items per request");
+        }
+        
+        LocalDateTime reviewDate = LocalDateTime.now();
+        List<BulkReviewResult.ItemResult> results = new ArrayList<>(items.size());
+        List<ApplicationStatusChanges.Change> changes = new ArrayList<>();
+        int updated = 0;
+        int notFound = 0;
+        int invalid = 0;
+        for (int start = 0; start < items.size(); start += bulkReviewBatchSize) {
+            List<BulkReviewRequest.Item> chunk = items.subList(start, Math.min(start + bulkReviewBatchSize, items.size()));
+            Map<Long, Long> owners = statusBatchRepository.findOwners(chunk.stream()
+                .filter(item -> item != null && item.getId() != null)
+                .map(BulkReviewRequest.Item::getId)
+                .toList());
+            
+            List<BulkReviewRequest.Item> toUpdate = new ArrayList<>(chunk.size());
+            for (BulkReviewRequest.Item item : chunk) {
+                if (item == null || item.getId() == null || item.getStatus() == null) {
+                    results.add(new BulkReviewResult.ItemResult(item != null ? item.getId() : null, BulkReviewResult.Outcome.INVALID));
+                    invalid++;
+                } else if (!owners.containsKey(item.getId())) {
+                    results.add(new BulkReviewResult.ItemResult(item.getId(), BulkReviewResult.Outcome.NOT_FOUND));
+                    notFound++;
+                } else {
+                    toUpdate.add(item);
+                    changes.add(new ApplicationStatusChanges.Change(item.getId(), owners.get(item.getId()),
+                        item.getStatus(), item.getComments(), reviewDate));
+                    results.add(new BulkReviewResult.ItemResult(item.getId(), BulkReviewResult.Outcome.UPDATED));
+                    updated++;
+                }
+            }
+            statusBatchRepository.updateStatuses(toUpdate, reviewDate, bulkReviewBatchSize);
+        }
+        // Delivered after the commit, or not at all on a rollback
+        eventPublisher.publishEvent(new ApplicationStatusChanges(changes));
+        return new BulkReviewResult(updated, notFound, invalid, results);
+    }
+    
+    // One UPDATE for every application of a scholarship currently in one of the given statuses,
+    // after one select for whose applications they are
+    @Transactional
+    public int bulkTransition(BulkTransitionRequest request) {
+        LocalDateTime reviewDate = LocalDateTime.now();
+        Map<Long, Long> owners = statusBatchRepository.findTransitionOwners(request.getScholarshipId(), request.getFromStatuses());
+        int updated = statusBatchRepository.transition(request.getScholarshipId(), request.getFromStatuses(),
+            request.getStatus(), request.getComments(), reviewDate);
+        List<ApplicationStatusChanges.Change> changes = new ArrayList<>(owners.size());
+        owners.forEach((applicationId, userId) -> changes.add(new ApplicationStatusChanges.Change(
+            applicationId, userId, request.getStatus(), request.getComments(), reviewDate)));
+        eventPublisher.publishEvent(new ApplicationStatusChanges(changes));
+        return updated;
+    }
+    
+    public boolean scholarshipExists(Long scholarshipId) {
+        return scholarshipService.scholarshipExists(scholarshipId);
+    }
+    
+    // Writes every application of a scholarship to out while reading them from a cursor.
+    // Documents are fetched with one query per window of rows, so memory stays at one window.
+    @Transactional(readOnly = true)
+    public void exportApplications(Long scholarshipId, ExportFormat format, OutputStream out) throws IOException {
+        boolean empty = true;
+        try (Stream<ApplicationExportRow> rows = applicationRepository.streamExportRows(scholarshipId);
+             SequenceWriter writer = exportWriter(format).writeValues(out)) {
+            Map<Long, ApplicationExportRow> window = new LinkedHashMap<>();
+            Iterator<ApplicationExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                ApplicationExportRow row = iterator.next();
+                window.put(row.id(), row);
+                if (window.size() == EXPORT_WINDOW || !iterator.hasNext()) {
+                    applicationRepository.findDocuments(window.keySet()).forEach(document ->
+                        window.get(document.getApplicationId()).documents().add(document.getDocument()));
+                    writer.writeAll(window.values());
+                    window.clear();
+                    empty = false;
+                }
+            }
+        }
+        // The separator only goes between records; NDJSON ends every line
+        if (format == ExportFormat.NDJSON && !empty) {
+            out.write('\n');
+        }
+    }
+    
+    private ObjectWriter exportWriter(ExportFormat format) {
+        ObjectWriter writer = switch (format) {
+            case CSV -> CSV_MAPPER.writerFor(ApplicationExportRow.class)
+                .with(CSV_MAPPER.schemaFor(ApplicationExportRow.class).withHeader().withArrayElementSeparator(";"));
+            case NDJSON -> objectMapper.writerFor(ApplicationExportRow.class).withRootValueSeparator("\n");
+        };
+        // The servlet container owns the response stream
+        return writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+    
+    @Transactional
     public void withdrawApplication(Long applicationId, Long userId) {
         ScholarshipApplication application = applicationRepository.findById(applicationId)
-            .orElseThrow(() -> new RuntimeException("Application not found"));
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Application not found"));
         
         if (!application.getUser().getId().equals(userId)) {
-            throw new RuntimeException("You can only withdraw your own applications");
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You can only withdraw your own applications");
         }
         
         application.setStatus(ApplicationStatus.WITHDRAWN);
         applicationRepository.save(application);
+        readYourWrites.recordWrite(userId);
+        eventPublisher.publishEvent(ApplicationStatusChanges.of(new ApplicationStatusChanges.Change(
+            applicationId, userId, ApplicationStatus.WITHDRAWN, null, application.getReviewDate())));
     }
     
+    @Transactional(readOnly = true)
     public List<ScholarshipApplication> getApplicationsByStatus(ApplicationStatus status) {
-        return applicationRepository.findAll().stream()
-            .filter(app -> app.getStatus() == status)
-            .toList();
+        return applicationRepository.findByStatus(status);
+    }
+    
+    // Review queue: oldest first by default, served from the (status, applicationDate) indexes
+    @Transactional(readOnly = true)
+    public CursorPage<ScholarshipApplication> getApplicationsByStatusPage(ApplicationStatus status, Long scholarshipId,
+                                                                          String cursor, Integer size, String direction) {
+        int limit = CursorPage.clampSize(size);
+        Sort.Direction sortDirection = KeysetSpecifications.direction(direction, Sort.Direction.ASC);
+        Specification<ScholarshipApplication> spec = Specification
+            .<ScholarshipApplication>where((root, query, cb) -> cb.equal(root.get("status"), status))
+            .and(KeysetSpecifications.dateThenIdAfter("applicationDate", PageCursor.decode(cursor), sortDirection));
+        if (scholarshipId != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("scholarship").get("id"), scholarshipId));
+        }
+        
+        List<ScholarshipApplication> rows = applicationRepository.findBy(spec,
+            q -> q.sortBy(KeysetSpecifications.byDateThenId("applicationDate", sortDirection))
+                .project(LIST_GRAPH).limit(limit + 1).all());
+        return CursorPage.of(rows, limit, application -> PageCursor.of(application.getApplicationDate(), application.getId()));
     }
 }
@@ -0,0 +1,172 @@
+package com.sports.scholarship.service;
+
+import com.sports.scholarship.entity.Scholarship;
+import com.sports.scholarship.repository.ScholarshipRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Snapshot of the active catalog. It is dropped on every admin write and expires on its own
+// at the start of the day the earliest open scholarship closes, since that is the
+// only moment the "available" list can change without a write.
+// Each snapshot carries a strong ETag over the ids and versions it holds, so every instance
+// serving the same rows hands out the same validator.
+@Component
+public class ScholarshipCatalogCache {
+    
+    @Autowired
+    private ScholarshipRepository scholarshipRepository;
+    
+    @Value("${scholarship.catalog-cache.max-ttl:PT10M}")
+    private Duration maxTtl;
+    
+    private final Clock clock = Clock.systemDefaultZone();
+    
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    
+    private volatile Snapshot snapshot;
+    // Kept across invalidations so a reload that finds the same rows keeps its Last-Modified
+    private Snapshot lastLoaded;
+    
+    public record Snapshot(List<Scholarship> active, List<Scholarship> available, Instant expiresAt, long generation,
+                           String etag, Instant lastModified) {}
+    
+    public record Stats(long hits, long misses, long invalidations) {}
+    
+    public Snapshot get() {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            hits.incrementAndGet();
+            return current;
+        }
+        misses.incrementAndGet();
+        return load();
+    }
+    
+    // Inside a transaction the snapshot is dropped again once it commits, so a reload that read
+    // the rows before the write was visible is not kept
+    public void invalidate() {
+        drop();
+        invalidations.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    drop();
+                }
+            });
+        }
+    }
+    
+    private void drop() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+    
+    public Stats getStats() {
+        return new Stats(hits.get(), misses.get(), invalidations.get());
+    }
+    
+    private Snapshot load() {
+        loadLock.lock();
+        try {
+            // Another request may have reloaded while this one waited for the lock
+            Snapshot current = snapshot;
+            if (isFresh(current)) {
+                return current;
+            }
+            long loadGeneration = generation.get();
+            List<Scholarship> active = scholarshipRepository.findByIsActiveTrue().stream()
+                .sorted(Comparator.comparing(Scholarship::getId))
+                .toList();
+            LocalDate today = LocalDate.now(clock);
+            List<Scholarship> available = active.stream()
+                .filter(s -> s.getApplicationDeadline().isAfter(today))
+                .toList();
+            String etag = etagFor(active, available);
+            Snapshot loaded = new Snapshot(active, available, expiryFor(available), loadGeneration,
+                etag, lastModifiedFor(active, etag));
+            lastLoaded = loaded;
+            // A write that raced with this load must not be masked by the pre-write rows
+            if (generation.get() == loadGeneration) {
+                snapshot = loaded;
+            }
+            return loaded;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+    
+    private boolean isFresh(Snapshot current) {
+        return current != null
+            && current.generation() == generation.get()
+            && clock.instant().isBefore(current.expiresAt());
+    }
+    
+    // Rows are sorted by id, and the available flag covers a deadline passing with no write
+    private static String etagFor(List<Scholarship> active, List<Scholarship> available) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        int next = 0;
+        for (Scholarship s : active) {
+            boolean open = next < available.size() && available.get(next) == s;
+            if (open) {
+                next++;
+            }
+            digest.update((s.getId() + ":" + s.getVersion() + (open ? "o" : "c") + ";").getBytes(StandardCharsets.US_ASCII));
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, 16);
+    }
+    
+    // The newest row write, or the moment this instance saw the catalog change when that is later
+    // (a deactivation or delete leaves no newer row behind)
+    private Instant lastModifiedFor(List<Scholarship> active, String etag) {
+        Snapshot previous = lastLoaded;
+        if (previous != null && previous.etag().equals(etag)) {
+            return previous.lastModified();
+        }
+        Instant now = clock.instant().truncatedTo(ChronoUnit.SECONDS);
+        Instant newestRow = active.stream()
+            .map(Scholarship::getLastModified)
+            .filter(lastModified -> lastModified != null)
+            .max(Comparator.naturalOrder())
+            .orElse(now);
+        if (previous == null) {
+            return newestRow;
+        }
+        return newestRow.isAfter(now) ? newestRow : now;
+    }
+    
+    private Instant expiryFor(List<Scholarship> available) {
+        Instant ttlExpiry = clock.instant().plus(maxTtl);
+        return available.stream()
+            .map(s -> s.getApplicationDeadline().atStartOfDay(clock.getZone()).toInstant())
+            .min(Comparator.naturalOrder())
+            .filter(deadline -> deadline.isBefore(ttlExpiry))
+            .orElse(ttlExpiry);
+    }
+}
@@ -0,0 +1,251 @@
+package com.sports.scholarship.service;
+
+import com.sports.scholarship.dto.CursorPage;
+import com.sports.scholarship.dto.ScholarshipDto;
+import com.sports.scholarship.dto.ScholarshipSearchCriteria;
+import com.sports.scholarship.dto.ScholarshipSearchResult;
+import com.sports.scholarship.entity.Scholarship;
+import com.sports.scholarship.repository.KeysetSpecifications;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+// Faceted search over the cached catalog, optionally narrowed by a free-text query answered by
+// ScholarshipTextIndex. Every scholarship gets a position in the snapshot; sport and category
+// values map to bitsets of positions, and amount/deadline ranges are cut from position arrays
+// pre-sorted by that field. The index is rebuilt whenever the catalog cache hands out a new
+// snapshot, so it follows ScholarshipService writes automatically.
+@Component
+public class ScholarshipSearchIndex {
+    
+    @Autowired
+    private ScholarshipCatalogCache catalogCache;
+    
+    @Autowired
+    private ScholarshipTextIndex textIndex;
+    
+    private volatile Index index;
+    
+    public ScholarshipSearchResult search(ScholarshipSearchCriteria criteria) {
+        Index current = currentIndex();
+        
+        BitSet rest = current.all();
+        rest.and(current.amountRange(criteria));
+        rest.and(current.deadlineRange(criteria));
+        BitSet sports = Index.union(current.sportBits, criteria.getSport(), current.size());
+        BitSet categories = Index.union(current.categoryBits, criteria.getCategory(), current.size());
+        Map<Long, Double> scores = Map.of();
+        // Blank or only stop words ("the", "for"): no text filter rather than no results
+        if (ScholarshipTextIndex.hasTerms(criteria.getQ())) {
+            scores = textIndex.search(criteria.getQ());
+            rest.and(current.positionsOf(scores.keySet()));
+        }
+        
+        // Each facet is counted with every filter applied except its own, so the
+        // counts show what selecting another value of that facet would return
+        BitSet sportBase = (BitSet) rest.clone();
+        sportBase.and(categories);
+        BitSet categoryBase = (BitSet) rest.clone();
+        categoryBase.and(sports);
+        BitSet matches = (BitSet) sportBase.clone();
+        matches.and(sports);
+        
+        int size = CursorPage.clampSize(criteria.getSize());
+        int page = Math.max(criteria.getPage(), 0);
+        List<ScholarshipDto> content = matches.stream()
+            .mapToObj(current.docs::get)
+            .sorted(comparator(criteria, scores))
+            .skip((long) page * size)
+            .limit(size)
+            .map(ScholarshipDto::from)
+            .toList();
+        
+        return new ScholarshipSearchResult(content, matches.cardinality(), page, size,
+            Index.counts(current.sportBits, sportBase), Index.counts(current.categoryBits, categoryBase));
+    }
+    
+    private Index currentIndex() {
+        ScholarshipCatalogCache.Snapshot snapshot = catalogCache.get();
+        Index current = index;
+        if (current == null || current.snapshot != snapshot) {
+            current = new Index(snapshot);
+            index = current;
+        }
+        return current;
+    }
+    
+    private static Comparator<Scholarship> comparator(ScholarshipSearchCriteria criteria, Map<Long, Double> scores) {
+        String sort = criteria.getSort();
+        if (sort == null || sort.isBlank()) {
+            sort = scores.isEmpty() ? "deadline" : "relevance";
+        }
+        if (sort.equals("relevance")) {
+            // Best match first unless asked otherwise
+            Comparator<Scholarship> byScore = Comparator.<Scholarship>comparingDouble(s -> scores.getOrDefault(s.getId(), 0.0))
+                .reversed()
+                .thenComparing(Scholarship::getId);
+            return KeysetSpecifications.direction(criteria.getDirection(), Sort.Direction.ASC).isAscending()
+                ? byScore : byScore.reversed();
+        }
+        Comparator<Scholarship> comparator = switch (sort) {
+            case "deadline" -> Comparator.comparing(Scholarship::getApplicationDeadline);
+            case "amount" -> Comparator.comparing(Scholarship::getAmount);
+            case "title" -> Comparator.comparing(Scholarship::getTitle, String.CASE_INSENSITIVE_ORDER);
+            case "id" -> Comparator.comparing(Scholarship::getId);
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid sort field: " + sort);
+        };
+        // id breaks ties so paging is stable
+        comparator = comparator.thenComparing(Scholarship::getId);
+        return KeysetSpecifications.direction(criteria.getDirection(), Sort.Direction.ASC).isAscending()
+            ? comparator : comparator.reversed();
+    }
+    
+    private static final class Index {
+        
+        private final ScholarshipCatalogCache.Snapshot snapshot;
+        private final List<Scholarship> docs;
+        private final Map<String, BitSet> sportBits;
+        private final Map<String, BitSet> categoryBits;
+        private final Map<Long, Integer> positions;
+        private final int[] byAmount;
+        private final int[] byDeadline;
+        
+        Index(ScholarshipCatalogCache.Snapshot snapshot) {
+            this.snapshot = snapshot;
+            this.docs = snapshot.active();
+            this.sportBits = bitsBy(docs, Scholarship::getSport);
+            this.categoryBits = bitsBy(docs, Scholarship::getCategory);
+            this.positions = new HashMap<>();
+            for (int i = 0; i < docs.size(); i++) {
+                positions.put(docs.get(i).getId(), i);
+            }
+            this.byAmount = IntStream.range(0, docs.size()).boxed()
+                .sorted(Comparator.comparing(i -> docs.get(i).getAmount()))
+                .mapToInt(Integer::intValue).toArray();
+            this.byDeadline = IntStream.range(0, docs.size()).boxed()
+                .sorted(Comparator.comparing(i -> docs.get(i).getApplicationDeadline()))
+                .mapToInt(Integer::intValue).toArray();
+        }
+        
+        int size() {
+            return docs.size();
+        }
+        
+        BitSet all() {
+            BitSet bits = new BitSet(docs.size());
+            bits.set(0, docs.size());
+            return bits;
+        }
+        
+        BitSet positionsOf(Set<Long> ids) {
+            BitSet bits = new BitSet(docs.size());
+            for (Long id : ids) {
+                Integer position = positions.get(id);
+                if (position != null) {
+                    bits.set(position);
+                }
+            }
+            return bits;
+        }
+        
+        BitSet amountRange(ScholarshipSearchCriteria criteria) {
+            if (criteria.getMinAmount() == null && criteria.getMaxAmount() == null) {
+                return all();
+            }
+            int from = criteria.getMinAmount() == null ? 0
+                : lowerBound(byAmount, i -> docs.get(i).getAmount().compareTo(criteria.getMinAmount()) >= 0);
+            int to = criteria.getMaxAmount() == null ? byAmount.length
+                : lowerBound(byAmount, i -> docs.get(i).getAmount().compareTo(criteria.getMaxAmount()) > 0);
+            return positions(byAmount, from, to);
+        }
+        
+        BitSet deadlineRange(ScholarshipSearchCriteria criteria) {
+            LocalDate earliest = criteria.getDeadlineFrom();
+            if (criteria.isOpenOnly()) {
+                // Same rule as the available list: the deadline must still be in the future
+                LocalDate tomorrow = LocalDate.now().plusDays(1);
+                earliest = earliest == null || earliest.isBefore(tomorrow) ? tomorrow : earliest;
+            }
+            LocalDate latest = criteria.getDeadlineTo();
+            if (earliest == null && latest == null) {
+                return all();
+            }
+            LocalDate min = earliest;
+            int from = min == null ? 0
+                : lowerBound(byDeadline, i -> !docs.get(i).getApplicationDeadline().isBefore(min));
+            int to = latest == null ? byDeadline.length
+                : lowerBound(byDeadline, i -> docs.get(i).getApplicationDeadline().isAfter(latest));
+            return positions(byDeadline, from, to);
+        }
+        
+        // First index in the sorted array whose document satisfies a monotone predicate
+        private static int lowerBound(int[] sorted, IntPredicate predicate) {
+            int low = 0;
+            int high = sorted.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (predicate.test(sorted[mid])) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+        
+        private BitSet positions(int[] sorted, int from, int to) {
+            BitSet bits = new BitSet(docs.size());
+            for (int i = from; i < to; i++) {
+                bits.set(sorted[i]);
+            }
+            return bits;
+        }
+        
+        static BitSet union(Map<String, BitSet> bitsByValue, List<String> values, int size) {
+            BitSet bits = new BitSet(size);
+            if (values == null || values.isEmpty()) {
+                bits.set(0, size);
+                return bits;
+            }
+            for (String value : values) {
+                BitSet valueBits = bitsByValue.get(value);
+                if (valueBits != null) {
+                    bits.or(valueBits);
+                }
+            }
+            return bits;
+        }
+        
+        static Map<String, Long> counts(Map<String, BitSet> bitsByValue, BitSet base) {
+            Map<String, Long> counts = new TreeMap<>();
+            bitsByValue.forEach((value, bits) -> {
+                BitSet hits = (BitSet) bits.clone();
+                hits.and(base);
+                counts.put(value, (long) hits.cardinality());
+            });
+            return counts;
+        }
+        
+        private static Map<String, BitSet> bitsBy(List<Scholarship> docs, Function<Scholarship, String> field) {
+            Map<String, BitSet> bits = new HashMap<>();
+            for (int i = 0; i < docs.size(); i++) {
+                bits.computeIfAbsent(field.apply(docs.get(i)), value -> new BitSet(docs.size())).set(i);
+            }
+            return bits;
+        }
+    }
+}
@@ -1,12 +1,20 @@
 package com.sports.scholarship.service;
 
+import com.sports.scholarship.dto.CursorPage;
+import com.sports.scholarship.dto.PageCursor;
+import com.sports.scholarship.dto.ScholarshipSearchCriteria;
+import com.sports.scholarship.dto.ScholarshipSearchResult;
 import com.sports.scholarship.entity.Scholarship;
+import com.sports.scholarship.repository.KeysetSpecifications;
 import com.sports.scholarship.repository.ScholarshipRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 @Service
 public class ScholarshipService {
@@ -14,31 +22,101 @@ public class ScholarshipService {
     @Autowired
     private ScholarshipRepository scholarshipRepository;
     
+    @Autowired
+    private ScholarshipCatalogCache catalogCache;
+    
+    @Autowired
+    private ScholarshipSearchIndex searchIndex;
+    
+    @Autowired
+    private ScholarshipTextIndex textIndex;
+    
     public List<Scholarship> getAllActiveScholarships() {
-        return scholarshipRepository.findByIsActiveTrue();
+        return catalogCache.get().active();
     }
     
+    // The cached catalog with its validators, for conditional GETs
+    public ScholarshipCatalogCache.Snapshot getCatalog() {
+        return catalogCache.get();
+    }
+    
+    // Pages are cut from the cached catalog, which is already ordered by id. The caller passes
+    // the snapshot so the page and the ETag it is sent with come from the same one.
+    public CursorPage<Scholarship> getActiveScholarshipsPage(ScholarshipCatalogCache.Snapshot catalog, String cursor,
+                                                             Integer size, String direction) {
+        int limit = CursorPage.clampSize(size);
+        Sort.Direction sortDirection = KeysetSpecifications.direction(direction, Sort.Direction.ASC);
+        PageCursor after = PageCursor.decode(cursor);
+        List<Scholarship> active = catalog.active();
+        
+        List<Scholarship> rows = IntStream.range(0, active.size())
+            .mapToObj(i -> active.get(sortDirection.isAscending() ? i : active.size() - 1 - i))
+            .filter(s -> after == null
+                || (sortDirection.isAscending() ? s.getId() > after.getId() : s.getId() < after.getId()))
+            .limit(limit + 1)
+            .toList();
+        return CursorPage.of(rows, limit, scholarship -> PageCursor.ofId(scholarship.getId()));
+    }
+    
+    // Response cache key for a page, so one page asked for in different ways (an oversized or
+    // missing size, the default direction spelled out, a re-encoded cursor) is one entry
+    public String getActiveScholarshipsPageKey(String cursor, Integer size, String direction) {
+        PageCursor after = PageCursor.decode(cursor);
+        return "page:" + (after != null ? after.getId() : "") + ":" + CursorPage.clampSize(size) + ":"
+            + KeysetSpecifications.direction(direction, Sort.Direction.ASC);
+    }
+    
+    @Transactional(readOnly = true)
     public List<Scholarship> getScholarshipsBySport(String sport) {
         return scholarshipRepository.findBySport(sport);
     }
     
+    @Transactional(readOnly = true)
     public List<Scholarship> getScholarshipsByCategory(String category) {
         return scholarshipRepository.findByCategory(category);
     }
     
     public List<Scholarship> getAvailableScholarships() {
-        LocalDate today = LocalDate.now();
-        return scholarshipRepository.findByIsActiveTrueAndApplicationDeadlineAfter(today);
+        return catalogCache.get().available();
+    }
+    
+    public ScholarshipSearchResult searchScholarships(ScholarshipSearchCriteria criteria) {
+        return searchIndex.search(criteria);
     }
     
+    public ScholarshipCatalogCache.Stats getCatalogCacheStats() {
+        return catalogCache.getStats();
+    }
+    
+    // Active and before its deadline, checked with a single select
+    public boolean isOpenForApplications(Long id) {
+        return scholarshipRepository.isOpenForApplications(id, LocalDate.now());
+    }
+    
+    // Unloaded proxy, for setting associations without a select
+    public Scholarship getScholarshipReference(Long id) {
+        return scholarshipRepository.getReferenceById(id);
+    }
+    
+    @Transactional(readOnly = true)
     public Optional<Scholarship> getScholarshipById(Long id) {
         return scholarshipRepository.findById(id);
     }
     
+    @Transactional(readOnly = true)
+    public boolean scholarshipExists(Long id) {
+        return scholarshipRepository.existsById(id);
+    }
+    
+    @Transactional
     public Scholarship createScholarship(Scholarship scholarship) {
-        return scholarshipRepository.save(scholarship);
+        Scholarship saved = scholarshipRepository.save(scholarship);
+        catalogCache.invalidate();
+        textIndex.put(saved);
+        return saved;
     }
     
+    @Transactional
     public Scholarship updateScholarship(Long id, Scholarship scholarshipDetails) {
         Scholarship scholarship = scholarshipRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Scholarship not found"));
@@ -55,17 +133,26 @@ public class ScholarshipService {
         scholarship.setRequiredDocuments(scholarshipDetails.getRequiredDocuments());
         scholarship.setActive(scholarshipDetails.isActive());
         
-        return scholarshipRepository.save(scholarship);
+        Scholarship saved = scholarshipRepository.save(scholarship);
+        catalogCache.invalidate();
+        textIndex.put(saved);
+        return saved;
     }
     
+    @Transactional
     public void deleteScholarship(Long id) {
         scholarshipRepository.deleteById(id);
+        catalogCache.invalidate();
+        textIndex.remove(id);
     }
     
+    @Transactional
     public void deactivateScholarship(Long id) {
         Scholarship scholarship = scholarshipRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Scholarship not found"));
         scholarship.setActive(false);
         scholarshipRepository.save(scholarship);
+        catalogCache.invalidate();
+        textIndex.remove(id);
     }
 }
@@ -0,0 +1,195 @@
+package com.sports.scholarship.service;
+
+import com.sports.scholarship.entity.Scholarship;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Inverted index over the title, description and eligibility criteria of active scholarships,
+// ranked with BM25. ScholarshipService keeps it current with put/remove on every write, so
+// queries never go to the database. Inside a transaction the change is applied once it
+// commits, so a rollback leaves the index as it was. The term dictionary is sorted, which makes a query term
+// also match every indexed term it is a prefix of ("swim" finds "swimming").
+@Component
+public class ScholarshipTextIndex {
+    
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final float TITLE_WEIGHT = 2.0f;
+    private static final double PREFIX_PENALTY = 0.7;
+    
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+        "of", "on", "or", "the", "to", "who", "with");
+    
+    @Autowired
+    private ScholarshipCatalogCache catalogCache;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // term -> (scholarship id -> weighted term frequency)
+    private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, Float> docLengths = new HashMap<>();
+    private final Map<Long, Set<String>> docTerms = new HashMap<>();
+    private double totalLength;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        catalogCache.get().active().forEach(this::index);
+    }
+    
+    // Adds or replaces a scholarship; inactive ones are dropped from the index
+    public void put(Scholarship scholarship) {
+        afterCommit(() -> index(scholarship));
+    }
+    
+    public void remove(Long scholarshipId) {
+        afterCommit(() -> unindex(scholarshipId));
+    }
+    
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+    
+    private void index(Scholarship scholarship) {
+        if (!scholarship.isActive()) {
+            unindex(scholarship.getId());
+            return;
+        }
+        Map<String, Float> frequencies = new HashMap<>();
+        addTokens(frequencies, scholarship.getTitle(), TITLE_WEIGHT);
+        addTokens(frequencies, scholarship.getDescription(), 1.0f);
+        addTokens(frequencies, scholarship.getEligibilityCriteria(), 1.0f);
+        float length = (float) frequencies.values().stream().mapToDouble(Float::doubleValue).sum();
+        
+        lock.writeLock().lock();
+        try {
+            removeLocked(scholarship.getId());
+            frequencies.forEach((term, tf) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(scholarship.getId(), tf));
+            docTerms.put(scholarship.getId(), frequencies.keySet());
+            docLengths.put(scholarship.getId(), length);
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void unindex(Long scholarshipId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(scholarshipId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Scholarship id -> score for documents matching every query term (exactly or by prefix).
+    // A query of stop words only matches nothing, so callers check hasTerms first.
+    public Map<Long, Double> search(String query) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return Map.of();
+        }
+        lock.readLock().lock();
+        try {
+            int docCount = docLengths.size();
+            double averageLength = docCount == 0 ? 0 : totalLength / docCount;
+            Map<Long, Double> scores = null;
+            for (String term : terms) {
+                Map<Long, Double> termScores = scoreTerm(term, docCount, averageLength);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+            return scores;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public static boolean hasTerms(String query) {
+        return !tokenize(query).isEmpty();
+    }
+    
+    private Map<Long, Double> scoreTerm(String term, int docCount, double averageLength) {
+        Map<Long, Double> scores = new HashMap<>();
+        // Every expansion is merged, however short the prefix: dropping some would drop the
+        // documents only they reach and break the match-every-term rule. The work is bounded by
+        // the postings under the prefix, i.e. by the size of the index over active scholarships.
+        SortedMap<String, Map<Long, Float>> candidates = postings.subMap(term, term + Character.MAX_VALUE);
+        for (Map.Entry<String, Map<Long, Float>> entry : candidates.entrySet()) {
+            double boost = entry.getKey().equals(term) ? 1.0 : PREFIX_PENALTY;
+            Map<Long, Float> docs = entry.getValue();
+            double idf = Math.log(1 + (docCount - docs.size() + 0.5) / (docs.size() + 0.5));
+            docs.forEach((id, tf) -> {
+                double norm = tf + K1 * (1 - B + B * docLengths.get(id) / averageLength);
+                double score = boost * idf * tf * (K1 + 1) / norm;
+                // A document reached through several expansions keeps its best one
+                scores.merge(id, score, Math::max);
+            });
+        }
+        return scores;
+    }
+    
+    private void removeLocked(Long scholarshipId) {
+        Set<String> terms = docTerms.remove(scholarshipId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Float> docs = postings.get(term);
+            docs.remove(scholarshipId);
+            if (docs.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= docLengths.remove(scholarshipId);
+    }
+    
+    private static void addTokens(Map<String, Float> frequencies, String text, float weight) {
+        for (String token : tokenize(text)) {
+            frequencies.merge(token, weight, Float::sum);
+        }
+    }
+    
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
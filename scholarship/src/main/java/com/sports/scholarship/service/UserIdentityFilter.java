@@ -0,0 +1,77 @@
+package com.sports.scholarship.service;
+
+import com.sports.scholarship.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+// Probabilistic "might this username/email already be taken?" check for registration.
+// A "no" is definite, so the signup can go straight to the insert; a "maybe" falls back to
+// the exists queries. Until the startup warm-up has read every existing user, everything
+// is a "maybe". The unique constraints on users remain the final authority either way.
+@Component
+public class UserIdentityFilter {
+    
+    private static final Logger log = LoggerFactory.getLogger(UserIdentityFilter.class);
+    private static final int WARM_BATCH_SIZE = 10_000;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    private final BloomFilter usernames;
+    private final BloomFilter emails;
+    private volatile boolean ready;
+    
+    public UserIdentityFilter(@Value("${registration.bloom.expected-users:1000000}") long expectedUsers,
+                              @Value("${registration.bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.usernames = new BloomFilter(expectedUsers, falsePositiveRate);
+        this.emails = new BloomFilter(expectedUsers, falsePositiveRate);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        long afterId = 0;
+        long count = 0;
+        List<UserRepository.UserIdentity> batch;
+        do {
+            batch = userRepository.findIdentitiesAfter(afterId, PageRequest.of(0, WARM_BATCH_SIZE));
+            for (UserRepository.UserIdentity identity : batch) {
+                add(identity.getUsername(), identity.getEmail());
+                afterId = identity.getId();
+            }
+            count += batch.size();
+        } while (batch.size() == WARM_BATCH_SIZE);
+        ready = true;
+        log.info("Registration filter warmed with {} users", count);
+    }
+    
+    public void add(String username, String email) {
+        if (username != null) {
+            usernames.add(normalize(username));
+        }
+        if (email != null) {
+            emails.add(normalize(email));
+        }
+    }
+    
+    public boolean mightHaveUsername(String username) {
+        return !ready || usernames.mightContain(normalize(username));
+    }
+    
+    public boolean mightHaveEmail(String email) {
+        return !ready || emails.mightContain(normalize(email));
+    }
+    
+    // Case-folded because MySQL's default collation compares these columns case-insensitively
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,14 +1,24 @@
 package com.sports.scholarship.service;
 
+import com.sports.scholarship.dto.CursorPage;
+import com.sports.scholarship.dto.PageCursor;
 import com.sports.scholarship.dto.UserDto;
 import com.sports.scholarship.entity.Role;
 import com.sports.scholarship.entity.User;
+import com.sports.scholarship.repository.KeysetSpecifications;
 import com.sports.scholarship.repository.UserRepository;
+import com.sports.scholarship.security.PasswordHasher;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 @Service
 public class UserService {
@@ -17,41 +27,95 @@ public class UserService {
     private UserRepository userRepository;
     
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+    
+    @Autowired
+    private UserIdentityFilter identityFilter;
+    
+    // Boot's shared executor; virtual threads when spring.threads.virtual.enabled is on
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private Executor taskExecutor;
     
     public User createUser(UserDto userDto) {
-        if (userRepository.existsByUsername(userDto.getUsername())) {
+        // Only ask the database when the filter cannot rule a clash out
+        if (identityFilter.mightHaveUsername(userDto.getUsername())
+                && userRepository.existsByUsername(userDto.getUsername())) {
             throw new RuntimeException("Username already exists");
         }
         
-        if (userRepository.existsByEmail(userDto.getEmail())) {
+        if (identityFilter.mightHaveEmail(userDto.getEmail())
+                && userRepository.existsByEmail(userDto.getEmail())) {
             throw new RuntimeException("Email already exists");
         }
         
         User user = new User(
             userDto.getUsername(),
             userDto.getEmail(),
-            passwordEncoder.encode(userDto.getPassword()),
+            passwordHasher.encode(userDto.getPassword()),
             userDto.getFullName(),
             userDto.getPhone()
         );
         user.setRole(Role.STUDENT);
         
-        return userRepository.save(user);
+        User saved;
+        try {
+            saved = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent signup (or another instance); the unique keys decide.
+            // Anything else (a value too long for its column, say) is not a clash.
+            if (IntegrityErrors.isConstraint(e, User.USERNAME_CONSTRAINT)) {
+                throw new RuntimeException("Username already exists");
+            }
+            if (IntegrityErrors.isConstraint(e, User.EMAIL_CONSTRAINT)) {
+                throw new RuntimeException("Email already exists");
+            }
+            throw e;
+        }
+        identityFilter.add(saved.getUsername(), saved.getEmail());
+        return saved;
     }
     
     public Optional<User> findByUsername(String username) {
         return userRepository.findByUsername(username);
     }
     
+    // Re-hashes with the configured BCrypt cost after a successful login, off the request path.
+    // The update is handed off so BCrypt threads never wait on the database.
+    public void upgradePasswordIfNeeded(User user, String rawPassword) {
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            passwordHasher.encodeAsync(rawPassword)
+                .thenAcceptAsync(hash -> userRepository.updatePassword(user.getId(), hash), taskExecutor);
+        }
+    }
+    
+    // Unloaded proxy, for setting associations without a select
+    public User getUserReference(Long id) {
+        return userRepository.getReferenceById(id);
+    }
+    
+    @Transactional(readOnly = true)
     public Optional<User> findById(Long id) {
         return userRepository.findById(id);
     }
     
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
+    public CursorPage<User> getUsersPage(String cursor, Integer size, String direction) {
+        int limit = CursorPage.clampSize(size);
+        Sort.Direction sortDirection = KeysetSpecifications.direction(direction, Sort.Direction.ASC);
+        Specification<User> spec = KeysetSpecifications.idAfter(PageCursor.decode(cursor), sortDirection);
+        
+        List<User> rows = userRepository.findBy(spec,
+            q -> q.sortBy(KeysetSpecifications.byId(sortDirection)).limit(limit + 1).all());
+        return CursorPage.of(rows, limit, user -> PageCursor.ofId(user.getId()));
+    }
+    
+    @Transactional
     public User updateUser(Long id, UserDto userDto) {
         User user = userRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("User not found"));
@@ -60,7 +124,9 @@ public class UserService {
         user.setPhone(userDto.getPhone());
         user.setEmail(userDto.getEmail());
         
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        identityFilter.add(saved.getUsername(), saved.getEmail());
+        return saved;
     }
     
     public void deleteUser(Long id) {
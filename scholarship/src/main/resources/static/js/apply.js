@@ -29,9 +29,9 @@ function checkAuthentication() {
 // Load available scholarships
 async function loadScholarships() {
     try {
-        const response = await fetch('/api/scholarships/available');
-        if (response.ok) {
-            scholarships = await response.json();
+        const available = await fetchCatalog('/api/scholarships/available');
+        if (available) {
+            scholarships = available;
             displayScholarshipSelection();
         } else {
             console.error('Failed to load scholarships');
@@ -179,8 +179,7 @@ async function handleApplicationSubmission(e) {
     };
     
     try {
-        const userId = localStorage.getItem('userId');
-        const response = await fetch(`/api/applications?userId=${userId}`, {
+        const response = await fetch('/api/applications', {
             method: 'POST',
             headers: {
                 'Content-Type': 'application/json',
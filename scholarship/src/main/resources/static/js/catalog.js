@@ -0,0 +1,28 @@
+// Catalog requests shared by the Sports Scholarship Portal pages (index.html, apply.html)
+
+// Fetch a catalog URL, revalidating the copy kept in sessionStorage: the server answers
+// 304 with no body while the ETag still matches. Resolves to null if the request fails.
+async function fetchCatalog(url) {
+    const key = `catalog:${url}`;
+    const cached = JSON.parse(sessionStorage.getItem(key) || 'null');
+    const response = await fetch(url, {
+        cache: 'no-store',
+        headers: cached ? { 'If-None-Match': cached.etag } : {}
+    });
+    if (response.status === 304 && cached) {
+        return cached.data;
+    }
+    if (!response.ok) {
+        return null;
+    }
+    const data = await response.json();
+    const etag = response.headers.get('ETag');
+    if (etag) {
+        try {
+            sessionStorage.setItem(key, JSON.stringify({ etag, data }));
+        } catch (error) {
+            // Storage full or disabled; the next visit downloads the catalog again
+        }
+    }
+    return data;
+}
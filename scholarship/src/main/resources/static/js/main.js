@@ -39,9 +39,9 @@ function initializeNavigation() {
 // Load scholarships from the API
 async function loadScholarships() {
     try {
-        const response = await fetch('/api/scholarships/available');
-        if (response.ok) {
-            scholarships = await response.json();
+        const available = await fetchCatalog('/api/scholarships/available');
+        if (available) {
+            scholarships = available;
             filteredScholarships = [...scholarships];
             displayScholarships();
         } else {
@@ -202,11 +202,29 @@ function setupEventListeners() {
     }
 }
 
-// Filter scholarships based on selected criteria
-function filterScholarships() {
+// Filter scholarships on the server, falling back to local filtering (e.g. for sample data)
+async function filterScholarships() {
     const selectedSport = sportFilter ? sportFilter.value : '';
     const selectedCategory = categoryFilter ? categoryFilter.value : '';
 
+    const params = new URLSearchParams({ size: 100 });
+    if (selectedSport) params.append('sport', selectedSport);
+    if (selectedCategory) params.append('category', selectedCategory);
+
+    try {
+        const response = await fetch(`/api/scholarships/search?${params}`);
+        if (response.ok) {
+            const result = await response.json();
+            filteredScholarships = result.content;
+            updateFacetCounts(sportFilter, result.sportFacets);
+            updateFacetCounts(categoryFilter, result.categoryFacets);
+            displayScholarships();
+            return;
+        }
+    } catch (error) {
+        console.error('Error searching scholarships:', error);
+    }
+
     filteredScholarships = scholarships.filter(scholarship => {
         const sportMatch = !selectedSport || scholarship.sport === selectedSport;
         const categoryMatch = !selectedCategory || scholarship.category === selectedCategory;
@@ -216,6 +234,17 @@ function filterScholarships() {
     displayScholarships();
 }
 
+// Show how many scholarships each filter option would return
+function updateFacetCounts(select, counts) {
+    if (!select || !counts) return;
+
+    Array.from(select.options).forEach(option => {
+        if (!option.value) return;
+        if (!option.dataset.label) option.dataset.label = option.textContent;
+        option.textContent = `${option.dataset.label} (${counts[option.value] || 0})`;
+    });
+}
+
 // Format date for display
 function formatDate(dateString) {
     const date = new Date(dateString);
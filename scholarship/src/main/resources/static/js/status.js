@@ -3,6 +3,8 @@
 // Global variables
 let applications = [];
 let userInfo = null;
+let lastEventId = null;
+let reconnectDelay = 3000;
 
 // DOM elements
 const loginRequired = document.getElementById('loginRequired');
@@ -17,7 +19,7 @@ const applicationsContainer = document.getElementById('applicationsContainer');
 document.addEventListener('DOMContentLoaded', function() {
     checkAuthentication();
     if (isAuthenticated()) {
-        loadApplicationStatus();
+        followStatusChanges();
     }
 });
 
@@ -62,6 +64,120 @@ async function loadApplicationStatus() {
     }
 }
 
+// Follow status changes as they happen. EventSource cannot send the Authorization header, so
+// the event stream is read with fetch; after a drop it reconnects with the last id it saw and
+// the server sends what was missed (or "resync" when it cannot).
+async function followStatusChanges() {
+    let listLoaded = false;
+    const loadListOnce = () => {
+        if (!listLoaded) {
+            listLoaded = true;
+            loadApplicationStatus();
+        }
+    };
+    
+    while (isAuthenticated()) {
+        try {
+            const headers = {
+                'Authorization': `Bearer ${localStorage.getItem('authToken')}`
+            };
+            if (lastEventId) {
+                headers['Last-Event-ID'] = lastEventId;
+            }
+            const response = await fetch('/api/applications/stream', { headers, cache: 'no-store' });
+            if (response.status === 401 || response.status === 403 || !response.body) {
+                // The list as it is now, without live updates
+                loadListOnce();
+                return;
+            }
+            if (!response.ok) {
+                throw new Error(`HTTP ${response.status}`);
+            }
+            // Read once the stream is open, so no change falls between the two
+            loadListOnce();
+            await readStatusEvents(response.body.getReader());
+        } catch (error) {
+            console.error('Status updates interrupted:', error);
+            loadListOnce();
+        }
+        await new Promise(resolve => setTimeout(resolve, reconnectDelay));
+    }
+}
+
+// Parses text/event-stream until the server ends the stream
+async function readStatusEvents(reader) {
+    const decoder = new TextDecoder();
+    let buffer = '';
+    let eventName = 'message';
+    let data = [];
+    
+    while (true) {
+        const { value, done } = await reader.read();
+        if (done) {
+            return;
+        }
+        buffer += decoder.decode(value, { stream: true });
+        const lines = buffer.split('\n');
+        buffer = lines.pop();
+        
+        for (let line of lines) {
+            if (line.endsWith('\r')) {
+                line = line.slice(0, -1);
+            }
+            if (line === '') {
+                if (data.length > 0) {
+                    handleStatusEvent(eventName, data.join('\n'));
+                }
+                eventName = 'message';
+                data = [];
+                continue;
+            }
+            if (line.startsWith(':')) {
+                continue;
+            }
+            const colon = line.indexOf(':');
+            const field = colon < 0 ? line : line.slice(0, colon);
+            let fieldValue = colon < 0 ? '' : line.slice(colon + 1);
+            if (fieldValue.startsWith(' ')) {
+                fieldValue = fieldValue.slice(1);
+            }
+            if (field === 'event') {
+                eventName = fieldValue;
+            } else if (field === 'data') {
+                data.push(fieldValue);
+            } else if (field === 'id') {
+                lastEventId = fieldValue;
+            } else if (field === 'retry' && Number(fieldValue) > 0) {
+                reconnectDelay = Number(fieldValue);
+            }
+        }
+    }
+}
+
+function handleStatusEvent(eventName, data) {
+    if (eventName === 'resync') {
+        loadApplicationStatus();
+    } else if (eventName === 'status') {
+        applyStatusChange(JSON.parse(data));
+    }
+}
+
+// Updates the application in place; one the page has not seen yet means the list is stale
+function applyStatusChange(change) {
+    const app = applications.find(a => a.id === change.applicationId);
+    if (!app) {
+        loadApplicationStatus();
+        return;
+    }
+    app.status = change.status;
+    app.reviewDate = change.reviewDate;
+    if (change.reviewerComments !== null) {
+        app.reviewerComments = change.reviewerComments;
+    }
+    updateStatusSummary();
+    displayApplications();
+}
+
 // Load sample applications for demonstration
 function loadSampleApplications() {
     applications = [
@@ -232,8 +348,7 @@ async function withdrawApplication(applicationId) {
     }
     
     try {
-        const userId = localStorage.getItem('userId');
-        const response = await fetch(`/api/applications/${applicationId}/withdraw?userId=${userId}`, {
+        const response = await fetch(`/api/applications/${applicationId}/withdraw`, {
             method: 'PUT',
             headers: {
                 'Authorization': `Bearer ${localStorage.getItem('authToken')}`
@@ -0,0 +1,143 @@
+package com.sports.scholarship.build;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StaticAssetBuilderTest {
+    
+    @Test
+    void dropsCommentsAndIndentationButKeepsLineBreaks() {
+        String js = "// header\n"
+            + "function f(a) {\n"
+            + "    /* block\n"
+            + "       comment */\n"
+            + "    const b = a   \n"
+            + "\n"
+            + "    return b\n"
+            + "}\n";
+        
+        assertEquals("function f(a) {\nconst b = a\nreturn b\n}\n", StaticAssetBuilder.minifyJs(js));
+    }
+    
+    @Test
+    void keepsCommentMarkersInsideStrings() {
+        String js = "const url = 'http://example.org/*path*/';\n"
+            + "const note = \"a // b\";\n"
+            + "const quote = 'it\\'s // fine';\n";
+        
+        assertEquals(js, StaticAssetBuilder.minifyJs(js));
+    }
+    
+    @Test
+    void keepsTemplateTextAndItsExpressions() {
+        String js = "const row = `<td>  // ${name} /* ${ {a: 1}.a } */</td>`;\n"
+            + "const nested = `outer ${items.map(i => `inner ${i} // kept`).join(', ')} //also kept`; // dropped\n"
+            + "const escaped = `\\` // still text`;\n";
+        
+        String expected = "const row = `<td>  // ${name} /* ${ {a: 1}.a } */</td>`;\n"
+            + "const nested = `outer ${items.map(i => `inner ${i} // kept`).join(', ')} //also kept`;\n"
+            + "const escaped = `\\` // still text`;\n";
+        assertEquals(expected, StaticAssetBuilder.minifyJs(js));
+    }
+    
+    @Test
+    void keepsMultiLineTemplatesAsTheyAre() {
+        String js = "el.innerHTML = `\n"
+            + "    <div>\n"
+            + "        ${value}\n"
+            + "    </div>`;\n";
+        
+        assertEquals(js, StaticAssetBuilder.minifyJs(js));
+    }
+    
+    @Test
+    void readsTemplateExpressionBracesBeforeLeavingIt() {
+        String js = "const s = `${ (() => { return 1 })() }`; // dropped\n";
+        
+        assertEquals("const s = `${ (() => { return 1 })() }`;\n", StaticAssetBuilder.minifyJs(js));
+    }
+    
+    @Test
+    void keepsRegexLiteralsWithSlashesAndCommentMarkers() {
+        String js = "const email = /^[^@/]+@[^/]+$/i;\n"
+            + "const path = value.replace(/\\/\\/+/g, '/'); // collapse\n"
+            + "const star = /a*/.test(s) || /[/*]/.test(s);\n";
+        
+        String expected = "const email = /^[^@/]+@[^/]+$/i;\n"
+            + "const path = value.replace(/\\/\\/+/g, '/');\n"
+            + "const star = /a*/.test(s) || /[/*]/.test(s);\n";
+        assertEquals(expected, StaticAssetBuilder.minifyJs(js));
+    }
+    
+    @Test
+    void readsSlashAfterAValueAsDivision() {
+        String js = "const half = total / 2; // half\n"
+            + "const ratio = (a + b) / (c) / 4;\n";
+        
+        assertEquals("const half = total / 2;\nconst ratio = (a + b) / (c) / 4;\n", StaticAssetBuilder.minifyJs(js));
+    }
+    
+    @Test
+    void minifiesCss() {
+        String css = "/* theme */\n"
+            + "body {\n"
+            + "    margin: 0;\n"
+            + "    font-family: Arial, sans-serif;\n"
+            + "}\n"
+            + "\n"
+            + ".card > h2 {\n"
+            + "    color: #333;\n"
+            + "}\n";
+        
+        assertEquals("body{margin:0;font-family:Arial,sans-serif}.card>h2{color:#333}", StaticAssetBuilder.minifyCss(css));
+    }
+    
+    @Test
+    void writesHashedAssetsAndPointsPagesAtThem(@TempDir Path root) throws IOException {
+        Files.createDirectories(root.resolve("css"));
+        Files.createDirectories(root.resolve("js"));
+        Files.writeString(root.resolve("css/style.css"), "body {\r\n    margin: 0;\r\n}\r\n");
+        Files.writeString(root.resolve("js/main.js"), "// main\r\nconst a = 1\r\n");
+        Files.writeString(root.resolve("index.html"),
+            "<link href=\"css/style.css\" rel=\"stylesheet\"><script src=\"js/main.js\"></script>"
+                + "<script src=\"https://cdn.example.org/lib.js\"></script>");
+        
+        StaticAssetBuilder.main(new String[] {root.toString()});
+        
+        Path css = single(root.resolve("assets/css"), ".css");
+        Path js = single(root.resolve("assets/js"), ".js");
+        assertTrue(css.getFileName().toString().matches("style\\.[0-9a-f]{12}\\.css"));
+        assertTrue(js.getFileName().toString().matches("main\\.[0-9a-f]{12}\\.js"));
+        assertEquals("body{margin:0}", Files.readString(css));
+        assertEquals("const a = 1\n", Files.readString(js));
+        assertTrue(Files.exists(css.resolveSibling(css.getFileName() + ".gz")));
+        
+        String expectedPage = "<link href=\"assets/css/" + css.getFileName() + "\" rel=\"stylesheet\">"
+            + "<script src=\"assets/js/" + js.getFileName() + "\"></script>"
+            + "<script src=\"https://cdn.example.org/lib.js\"></script>";
+        assertEquals(expectedPage, Files.readString(root.resolve("index.html")));
+        
+        // A second run over pages it already rewrote, with the sources checked out with LF, gives the same names
+        Files.writeString(root.resolve("css/style.css"), "body {\n    margin: 0;\n}\n");
+        StaticAssetBuilder.main(new String[] {root.toString()});
+        
+        assertEquals(expectedPage, Files.readString(root.resolve("index.html")));
+        assertEquals(css.getFileName(), single(root.resolve("assets/css"), ".css").getFileName());
+    }
+    
+    private static Path single(Path dir, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.toString().endsWith(suffix)).reduce((a, b) -> {
+                throw new AssertionError("more than one " + suffix + " in " + dir);
+            }).orElseThrow();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.sports.scholarship.config;
+
+import com.sports.scholarship.service.ReadYourWritesTracker;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+    
+    // H2 reports a connection's URL without the settings, so these are compared as they are
+    private static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary";
+    private static final String REPLICA_URL = "jdbc:h2:mem:routing-replica";
+    // Never created, and IFEXISTS stops H2 from creating it on connect
+    private static final String MISSING_URL = "jdbc:h2:mem:routing-missing;IFEXISTS=TRUE";
+    
+    private final ReadYourWritesTracker readYourWrites = mock(ReadYourWritesTracker.class);
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private HikariDataSource primary;
+    
+    @BeforeEach
+    void setUp() {
+        primary = pool(PRIMARY_URL);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        pools.forEach(HikariDataSource::close);
+    }
+    
+    @Test
+    void readOnlyTransactionsReadFromTheReplica() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(pool(REPLICA_URL));
+        
+        assertEquals(REPLICA_URL, urlOf(routing));
+        
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        assertEquals(PRIMARY_URL, urlOf(routing));
+    }
+    
+    @Test
+    void callersInsideTheirReadYourWritesWindowReadFromThePrimary() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(pool(REPLICA_URL));
+        when(readYourWrites.mustReadPrimary()).thenReturn(true);
+        
+        assertEquals(PRIMARY_URL, urlOf(routing));
+    }
+    
+    @Test
+    void unavailableReplicaIsSkippedForRetryAfter() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(pool(MISSING_URL), pool(REPLICA_URL));
+        
+        // Whichever replica round robin starts at, every read lands somewhere usable
+        for (int i = 0; i < 4; i++) {
+            assertEquals(REPLICA_URL, urlOf(routing));
+        }
+    }
+    
+    @Test
+    void withNoReplicaLeftReadsGoToThePrimary() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(pool(MISSING_URL));
+        
+        assertEquals(PRIMARY_URL, urlOf(routing));
+        assertEquals(PRIMARY_URL, urlOf(routing));
+    }
+    
+    @Test
+    void pausedReplicaGetsNoReadsUntilResumed() throws Exception {
+        ReplicaRoutingDataSource routing = routing(pool(REPLICA_URL));
+        
+        assertTrue(routing.pause(REPLICA_URL, Duration.ofSeconds(1)));
+        assertEquals(PRIMARY_URL, urlOf(routing));
+        
+        routing.resume(REPLICA_URL);
+        assertEquals(REPLICA_URL, urlOf(routing));
+    }
+    
+    @Test
+    void pauseWaitsForReadsInFlight() throws Exception {
+        ReplicaRoutingDataSource routing = routing(pool(REPLICA_URL));
+        
+        try (Connection inFlight = routing.getConnection()) {
+            assertEquals(REPLICA_URL, inFlight.getMetaData().getURL());
+            // Still in use when the wait runs out: not paused, so nothing changes for readers
+            assertFalse(routing.pause(REPLICA_URL, Duration.ofMillis(50)));
+            assertEquals(REPLICA_URL, urlOf(routing));
+        }
+        
+        assertTrue(routing.pause(REPLICA_URL, Duration.ofMillis(50)));
+        assertEquals(PRIMARY_URL, urlOf(routing));
+    }
+    
+    @Test
+    void pauseOfAnUnknownReplicaDoesNothing() throws Exception {
+        ReplicaRoutingDataSource routing = routing(pool(REPLICA_URL));
+        
+        assertFalse(routing.pause("jdbc:h2:mem:elsewhere", Duration.ofMillis(50)));
+        assertEquals(REPLICA_URL, urlOf(routing));
+    }
+    
+    private ReplicaRoutingDataSource routing(HikariDataSource... replicas) {
+        return new ReplicaRoutingDataSource(primary, List.of(replicas), readYourWrites, Duration.ofMinutes(1));
+    }
+    
+    private HikariDataSource pool(String url) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(url);
+        pool.setUsername("sa");
+        // Give up quickly on the missing database, the shortest wait Hikari allows
+        pool.setConnectionTimeout(url.equals(MISSING_URL) ? 250 : 5_000);
+        // Lazy, so a pool over a missing database can still be built
+        pool.setInitializationFailTimeout(-1);
+        pools.add(pool);
+        return pool;
+    }
+    
+    private static String urlOf(ReplicaRoutingDataSource routing) throws SQLException {
+        try (Connection connection = routing.getConnection()) {
+            return connection.getMetaData().getURL();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.sports.scholarship.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CursorPageTest {
+    
+    @Test
+    void extraRowMeansAnotherPageStartingAfterTheLastOneShown() {
+        CursorPage<Long> page = CursorPage.of(List.of(1L, 2L, 3L), 2, PageCursor::ofId);
+        
+        assertEquals(List.of(1L, 2L), page.getContent());
+        assertEquals(2, page.getSize());
+        assertTrue(page.isHasNext());
+        assertEquals(2L, PageCursor.decode(page.getNextCursor()).getId());
+    }
+    
+    @Test
+    void noExtraRowMeansLastPage() {
+        CursorPage<Long> full = CursorPage.of(List.of(1L, 2L), 2, PageCursor::ofId);
+        CursorPage<Long> empty = CursorPage.of(List.of(), 2, PageCursor::ofId);
+        
+        assertFalse(full.isHasNext());
+        assertNull(full.getNextCursor());
+        assertEquals(List.of(1L, 2L), full.getContent());
+        assertFalse(empty.isHasNext());
+    }
+    
+    @Test
+    void mapKeepsTheCursor() {
+        CursorPage<Long> page = CursorPage.of(List.of(1L, 2L, 3L), 2, PageCursor::ofId);
+        
+        CursorPage<String> mapped = page.map(id -> "#" + id);
+        
+        assertEquals(List.of("#1", "#2"), mapped.getContent());
+        assertEquals(page.getNextCursor(), mapped.getNextCursor());
+    }
+    
+    @Test
+    void clampsRequestedSize() {
+        assertEquals(CursorPage.DEFAULT_SIZE, CursorPage.clampSize(null));
+        assertEquals(CursorPage.DEFAULT_SIZE, CursorPage.clampSize(0));
+        assertEquals(CursorPage.DEFAULT_SIZE, CursorPage.clampSize(-5));
+        assertEquals(7, CursorPage.clampSize(7));
+        assertEquals(CursorPage.MAX_SIZE, CursorPage.clampSize(CursorPage.MAX_SIZE + 1));
+    }
+}
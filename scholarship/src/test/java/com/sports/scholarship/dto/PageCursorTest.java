@@ -0,0 +1,61 @@
+package com.sports.scholarship.dto;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PageCursorTest {
+    
+    @Test
+    void roundTripsDateAndId() {
+        LocalDateTime date = LocalDateTime.of(2026, 3, 14, 9, 26, 53, 589_793_000);
+        
+        PageCursor decoded = PageCursor.decode(PageCursor.of(date, 42L).encode());
+        
+        assertEquals(date, decoded.getDate());
+        assertEquals(42L, decoded.getId());
+    }
+    
+    @Test
+    void roundTripsIdOnly() {
+        PageCursor decoded = PageCursor.decode(PageCursor.ofId(7L).encode());
+        
+        assertNull(decoded.getDate());
+        assertEquals(7L, decoded.getId());
+    }
+    
+    @Test
+    void isSafeInAQueryString() {
+        String encoded = PageCursor.of(LocalDateTime.of(2026, 1, 1, 0, 0), Long.MAX_VALUE).encode();
+        
+        assertFalse(encoded.matches(".*[+/=].*"), encoded);
+    }
+    
+    @Test
+    void missingCursorMeansFirstPage() {
+        assertNull(PageCursor.decode(null));
+        assertNull(PageCursor.decode(" "));
+    }
+    
+    @Test
+    void rejectsTamperedCursors() {
+        String notANumber = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString("2026-01-01T00:00|abc".getBytes(StandardCharsets.UTF_8));
+        String badDate = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString("yesterday|1".getBytes(StandardCharsets.UTF_8));
+        
+        for (String cursor : new String[] {"not base64!", notANumber, badDate}) {
+            ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> PageCursor.decode(cursor));
+            assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        }
+    }
+}
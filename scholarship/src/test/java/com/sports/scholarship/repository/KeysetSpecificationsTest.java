@@ -0,0 +1,136 @@
+package com.sports.scholarship.repository;
+
+import com.sports.scholarship.dto.CursorPage;
+import com.sports.scholarship.dto.PageCursor;
+import com.sports.scholarship.entity.Scholarship;
+import com.sports.scholarship.entity.ScholarshipApplication;
+import com.sports.scholarship.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class KeysetSpecificationsTest {
+    
+    private static final int PAGE_SIZE = 2;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private ScholarshipRepository scholarshipRepository;
+    
+    @Autowired
+    private ScholarshipApplicationRepository applicationRepository;
+    
+    private final List<User> users = new ArrayList<>();
+    private final List<ScholarshipApplication> applications = new ArrayList<>();
+    
+    @BeforeEach
+    void setUp() {
+        Scholarship scholarship = scholarshipRepository.save(new Scholarship("Swim grant", "For swimmers", "Swimming",
+            "Merit", new BigDecimal("1000"), LocalDate.now().plusMonths(1), LocalDate.now().plusMonths(2),
+            LocalDate.now().plusMonths(14), "Open", "ID"));
+        // Several applications share a date, so paging has to fall back on the id to stay exact
+        LocalDateTime base = LocalDateTime.of(2026, 5, 1, 12, 0);
+        int[] minutes = {0, 0, 0, 1, 1, 2, 3};
+        for (int i = 0; i < minutes.length; i++) {
+            User user = userRepository.save(new User("user" + i, "user" + i + "@example.org", "hash", "User " + i, "555000" + i));
+            users.add(user);
+            ScholarshipApplication application = new ScholarshipApplication(user, scholarship, "Statement", "A", "B", "C");
+            application.setApplicationDate(base.plusMinutes(minutes[minutes.length - 1 - i]));
+            applications.add(applicationRepository.save(application));
+        }
+    }
+    
+    @Test
+    void pagesThroughUsersByIdWithoutGapsOrRepeats() {
+        List<Long> ascending = users.stream().map(User::getId).sorted().toList();
+        
+        assertEquals(ascending, userIds(Sort.Direction.ASC));
+        assertEquals(reversed(ascending), userIds(Sort.Direction.DESC));
+    }
+    
+    @Test
+    void pagesThroughApplicationsByDateThenIdWithoutGapsOrRepeats() {
+        List<Long> ascending = applications.stream()
+            .sorted(Comparator.comparing(ScholarshipApplication::getApplicationDate).thenComparing(ScholarshipApplication::getId))
+            .map(ScholarshipApplication::getId)
+            .toList();
+        
+        assertEquals(ascending, applicationIds(Sort.Direction.ASC));
+        assertEquals(reversed(ascending), applicationIds(Sort.Direction.DESC));
+    }
+    
+    @Test
+    void rejectsAnIdOnlyCursorWhereADateIsExpected() {
+        PageCursor cursor = PageCursor.ofId(users.get(0).getId());
+        
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> applicationRepository.findAll(
+            KeysetSpecifications.<ScholarshipApplication>dateThenIdAfter("applicationDate", cursor, Sort.Direction.ASC)));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+    
+    @Test
+    void parsesSortDirection() {
+        assertEquals(Sort.Direction.DESC, KeysetSpecifications.direction(null, Sort.Direction.DESC));
+        assertEquals(Sort.Direction.ASC, KeysetSpecifications.direction("asc", Sort.Direction.DESC));
+        assertEquals(Sort.Direction.DESC, KeysetSpecifications.direction("DESC", Sort.Direction.ASC));
+        
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+            () -> KeysetSpecifications.direction("sideways", Sort.Direction.ASC));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+    
+    // Follows next cursors from the first page to the last, the way a client would
+    private List<Long> userIds(Sort.Direction direction) {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            List<User> rows = userRepository.findBy(KeysetSpecifications.idAfter(PageCursor.decode(cursor), direction),
+                q -> q.sortBy(KeysetSpecifications.byId(direction)).limit(PAGE_SIZE + 1).all());
+            CursorPage<User> page = CursorPage.of(rows, PAGE_SIZE, user -> PageCursor.ofId(user.getId()));
+            page.getContent().forEach(user -> seen.add(user.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return seen;
+    }
+    
+    private List<Long> applicationIds(Sort.Direction direction) {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            List<ScholarshipApplication> rows = applicationRepository.findBy(
+                KeysetSpecifications.dateThenIdAfter("applicationDate", PageCursor.decode(cursor), direction),
+                q -> q.sortBy(KeysetSpecifications.byDateThenId("applicationDate", direction)).limit(PAGE_SIZE + 1).all());
+            CursorPage<ScholarshipApplication> page = CursorPage.of(rows, PAGE_SIZE,
+                application -> PageCursor.of(application.getApplicationDate(), application.getId()));
+            page.getContent().forEach(application -> seen.add(application.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return seen;
+    }
+    
+    private static List<Long> reversed(List<Long> ids) {
+        List<Long> copy = new ArrayList<>(ids);
+        Collections.reverse(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,48 @@
+package com.sports.scholarship.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+    
+    @Test
+    void neverMissesAnAddedValue() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.add("user" + i));
+        
+        IntStream.range(0, 10_000).forEach(i -> assertTrue(filter.mightContain("user" + i), "user" + i));
+    }
+    
+    @Test
+    void falsePositivesStayNearTheConfiguredRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.add("user" + i));
+        
+        long falsePositives = IntStream.range(0, 100_000)
+            .filter(i -> filter.mightContain("other" + i))
+            .count();
+        
+        // 1% expected; 2% leaves room for chance without letting a broken hash through
+        assertTrue(falsePositives < 2_000, falsePositives + " false positives in 100000");
+    }
+    
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        
+        assertFalse(filter.mightContain("anyone"));
+        assertFalse(filter.mightContain(""));
+    }
+    
+    @Test
+    void addsFromManyThreadsWithoutLosingBits() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        IntStream.range(0, 100_000).parallel().forEach(i -> filter.add("user" + i));
+        
+        IntStream.range(0, 100_000).forEach(i -> assertTrue(filter.mightContain("user" + i), "user" + i));
+    }
+}
@@ -0,0 +1,213 @@
+package com.sports.scholarship.service;
+
+import com.sports.scholarship.dto.ImportReport;
+import com.sports.scholarship.entity.Role;
+import com.sports.scholarship.entity.User;
+import com.sports.scholarship.repository.ScholarshipRepository;
+import com.sports.scholarship.repository.UserRepository;
+import com.sports.scholarship.security.PasswordHasher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Chunks of three rows, so a file spans several chunks. Not run in a test transaction: the
+// service commits each chunk itself, and a failed chunk must not doom the ones after it.
+@DataJpaTest(properties = "imports.batch-size=3")
+@ActiveProfiles("test")
+@Import(BulkImportService.class)
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkImportServiceTest {
+    
+    private static final String USER_HEADER = "username,password,email,fullName,phone\n";
+    
+    @Autowired
+    private BulkImportService importService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private ScholarshipRepository scholarshipRepository;
+    
+    @MockBean
+    private PasswordHasher passwordHasher;
+    
+    @MockBean
+    private UserIdentityFilter identityFilter;
+    
+    @MockBean
+    private ScholarshipCatalogCache catalogCache;
+    
+    @MockBean
+    private ScholarshipTextIndex textIndex;
+    
+    @BeforeEach
+    void setUp() {
+        when(passwordHasher.encode(anyString())).thenAnswer(invocation -> "hashed:" + invocation.getArgument(0));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        scholarshipRepository.deleteAll();
+    }
+    
+    @Test
+    void importsValidUsersAndReportsTheRestByRow() throws IOException {
+        ImportReport report = importService.importUsers(body(USER_HEADER
+            + "alice,secret1,alice@example.org,Alice A,5550001\n"
+            + "bob,short,bob@example.org,Bob B,5550002\n"
+            + "ALICE,secret1,alice2@example.org,Alice B,5550003\n"
+            + "carol,secret1,not-an-email,Carol C,5550004\n"
+            + "dave,secret1,dave@example.org,Dave D,5550005\n"), BulkImportService.TEXT_CSV);
+        
+        assertEquals(5, report.rows());
+        assertEquals(2, report.imported());
+        assertEquals(3, report.failed());
+        assertEquals(List.of(
+            new ImportReport.RowError(2, List.of("password: Password must be at least 6 characters")),
+            new ImportReport.RowError(3, List.of("Username appears earlier in this file")),
+            new ImportReport.RowError(4, List.of("email: Email should be valid"))), report.errors());
+        
+        User alice = userRepository.findByUsername("alice").orElseThrow();
+        assertEquals("hashed:secret1", alice.getPassword());
+        assertEquals(Role.STUDENT, alice.getRole());
+        assertTrue(userRepository.existsByUsername("dave"));
+        verify(identityFilter).add("alice", "alice@example.org");
+        verify(identityFilter).add("dave", "dave@example.org");
+    }
+    
+    @Test
+    void reportsNamesTheTableAlreadyHas() throws IOException {
+        userRepository.save(existingUser());
+        when(identityFilter.mightHaveUsername(any())).thenReturn(true);
+        when(identityFilter.mightHaveEmail(any())).thenReturn(true);
+        
+        ImportReport report = importService.importUsers(body(
+            "{\"username\":\"erin\",\"password\":\"secret1\",\"email\":\"erin2@example.org\",\"fullName\":\"Erin B\",\"phone\":\"5550011\"}\n"
+                + "{\"username\":\"frank\",\"password\":\"secret1\",\"email\":\"erin@example.org\",\"fullName\":\"Frank F\",\"phone\":\"5550012\"}\n"
+                + "{\"username\":\"gina\",\"password\":\"secret1\",\"email\":\"gina@example.org\",\"fullName\":\"Gina G\",\"phone\":\"5550013\"}\n"),
+            BulkImportService.NDJSON);
+        
+        assertEquals(1, report.imported());
+        assertEquals(List.of(
+            new ImportReport.RowError(1, List.of("Username already exists")),
+            new ImportReport.RowError(2, List.of("Email already exists"))), report.errors());
+        // Rows that will not be inserted are not hashed
+        verify(passwordHasher, times(1)).encode(anyString());
+    }
+    
+    @Test
+    void findsTheClashingRowWhenTheFilterLetsATakenNameThrough() throws IOException {
+        userRepository.save(existingUser());
+        // The filter says "definitely new", so only the unique constraint catches erin
+        
+        ImportReport report = importService.importUsers(body(USER_HEADER
+            + "gina,secret1,gina@example.org,Gina G,5550013\n"
+            + "erin,secret1,erin2@example.org,Erin B,5550011\n"
+            + "hank,secret1,hank@example.org,Hank H,5550014\n"), BulkImportService.TEXT_CSV);
+        
+        assertEquals(2, report.imported());
+        assertEquals(List.of(new ImportReport.RowError(2, List.of("Username already exists"))), report.errors());
+        assertTrue(userRepository.existsByUsername("gina"));
+        assertTrue(userRepository.existsByUsername("hank"));
+        verify(identityFilter, never()).add("erin", "erin2@example.org");
+    }
+    
+    @Test
+    void importsScholarshipsUpToUnreadableInput() throws IOException {
+        ImportReport report = importService.importScholarships(body(
+            scholarshipJson("Swim grant", "1000") + "\n"
+                + scholarshipJson("Row grant", "\"lots\"") + "\n"
+                + scholarshipJson("Golf grant", "-5") + "\n"
+                // Cut off mid-record, as an interrupted upload would be
+                + "{\"title\":\"Broken\","), BulkImportService.NDJSON);
+        
+        assertEquals(4, report.rows());
+        assertEquals(1, report.imported());
+        assertEquals(List.of(2L, 3L, 4L), report.errors().stream().map(ImportReport.RowError::row).toList());
+        assertEquals(List.of("amount: invalid value 'lots'"), report.errors().get(0).messages());
+        assertEquals(List.of("amount: must be greater than 0"), report.errors().get(1).messages());
+        assertTrue(report.errors().get(2).messages().get(0).startsWith("Unreadable input, import stopped here"));
+        assertEquals(1, scholarshipRepository.count());
+        verify(textIndex, times(1)).put(any());
+        verify(catalogCache).invalidate();
+    }
+    
+    @Test
+    void leavesTheCatalogCacheAloneWhenNothingWentIn() throws IOException {
+        ImportReport report = importService.importScholarships(body(scholarshipJson("Golf grant", "-5") + "\n"),
+            BulkImportService.NDJSON);
+        
+        assertEquals(0, report.imported());
+        verify(catalogCache, never()).invalidate();
+    }
+    
+    @Test
+    void listsOnlyTheFirstErrors() throws IOException {
+        StringBuilder csv = new StringBuilder(USER_HEADER);
+        for (int i = 0; i < 1_005; i++) {
+            csv.append("u").append(i).append(",short,u").append(i).append("@example.org,User,555\n");
+        }
+        
+        ImportReport report = importService.importUsers(body(csv.toString()), BulkImportService.TEXT_CSV);
+        
+        assertEquals(1_005, report.failed());
+        assertEquals(1_000, report.errors().size());
+        assertTrue(report.errorsTruncated());
+    }
+    
+    @Test
+    void rejectsOtherContentTypes() {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+            () -> importService.importUsers(body("[]"), MediaType.APPLICATION_JSON));
+        assertEquals(HttpStatus.UNSUPPORTED_MEDIA_TYPE, e.getStatusCode());
+    }
+    
+    private static User existingUser() {
+        User user = new User("erin", "erin@example.org", "hash", "Erin E", "5550010");
+        user.setRole(Role.STUDENT);
+        return user;
+    }
+    
+    private static String scholarshipJson(String title, String amount) {
+        return "{\"title\":\"" + title + "\",\"description\":\"For athletes\",\"sport\":\"Swimming\","
+            + "\"category\":\"Merit\",\"amount\":" + amount + ",\"applicationDeadline\":\"2030-01-31\","
+            + "\"startDate\":\"2030-03-01\",\"endDate\":\"2031-03-01\",\"eligibilityCriteria\":\"Open\","
+            + "\"requiredDocuments\":\"ID\"}";
+    }
+    
+    private static InputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,164 @@
+package com.sports.scholarship.service;
+
+import com.sports.scholarship.dto.ScholarshipDto;
+import com.sports.scholarship.dto.ScholarshipSearchCriteria;
+import com.sports.scholarship.dto.ScholarshipSearchResult;
+import com.sports.scholarship.entity.Scholarship;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ScholarshipSearchIndexTest {
+    
+    private static final LocalDate TODAY = LocalDate.now();
+    
+    private final ScholarshipCatalogCache catalogCache = mock(ScholarshipCatalogCache.class);
+    private final ScholarshipTextIndex textIndex = new ScholarshipTextIndex();
+    private final ScholarshipSearchIndex searchIndex = new ScholarshipSearchIndex();
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(searchIndex, "catalogCache", catalogCache);
+        ReflectionTestUtils.setField(searchIndex, "textIndex", textIndex);
+        catalog(
+            scholarship(1L, "Swimming merit award", "Swimming", "Merit", "5000", TODAY.plusDays(30)),
+            scholarship(2L, "Swimming need grant", "Swimming", "Need", "1000", TODAY.plusDays(10)),
+            scholarship(3L, "Tennis merit award", "Tennis", "Merit", "2500", TODAY.plusDays(20)),
+            scholarship(4L, "Tennis need grant", "Tennis", "Need", "2500", TODAY.plusDays(40)),
+            scholarship(5L, "Rowing merit award", "Rowing", "Merit", "800", TODAY));
+    }
+    
+    @Test
+    void openOnlyByDefaultSortedByDeadline() {
+        ScholarshipSearchResult result = searchIndex.search(new ScholarshipSearchCriteria());
+        
+        // 5 closes today, so it is no longer open
+        assertEquals(List.of(2L, 3L, 1L, 4L), ids(result));
+        assertEquals(4, result.total());
+    }
+    
+    @Test
+    void facetCountsIgnoreTheirOwnFilter() {
+        ScholarshipSearchCriteria criteria = new ScholarshipSearchCriteria();
+        criteria.setSport(List.of("Swimming"));
+        criteria.setCategory(List.of("Merit"));
+        
+        ScholarshipSearchResult result = searchIndex.search(criteria);
+        
+        assertEquals(List.of(1L), ids(result));
+        // Merit scholarships per sport, and Swimming scholarships per category
+        assertEquals(Map.of("Swimming", 1L, "Tennis", 1L, "Rowing", 0L), result.sportFacets());
+        assertEquals(Map.of("Merit", 1L, "Need", 1L), result.categoryFacets());
+    }
+    
+    @Test
+    void severalValuesOfOneFacetWidenTheMatch() {
+        ScholarshipSearchCriteria criteria = new ScholarshipSearchCriteria();
+        criteria.setSport(List.of("Swimming", "Tennis"));
+        criteria.setCategory(List.of("Need"));
+        
+        assertEquals(List.of(2L, 4L), ids(searchIndex.search(criteria)));
+    }
+    
+    @Test
+    void amountAndDeadlineRangesAreInclusive() {
+        ScholarshipSearchCriteria criteria = new ScholarshipSearchCriteria();
+        criteria.setMinAmount(new BigDecimal("1000"));
+        criteria.setMaxAmount(new BigDecimal("2500"));
+        
+        assertEquals(List.of(2L, 3L, 4L), ids(searchIndex.search(criteria)));
+        
+        criteria = new ScholarshipSearchCriteria();
+        criteria.setOpenOnly(false);
+        criteria.setDeadlineFrom(TODAY);
+        criteria.setDeadlineTo(TODAY.plusDays(20));
+        
+        assertEquals(List.of(5L, 2L, 3L), ids(searchIndex.search(criteria)));
+    }
+    
+    @Test
+    void textQueryNarrowsAndSortsByRelevance() {
+        ScholarshipSearchCriteria criteria = new ScholarshipSearchCriteria();
+        criteria.setQ("merit");
+        criteria.setOpenOnly(false);
+        
+        ScholarshipSearchResult result = searchIndex.search(criteria);
+        
+        assertEquals(3, result.total());
+        assertEquals(List.of(1L, 3L, 5L), ids(result).stream().sorted().toList());
+        assertEquals(Map.of("Swimming", 1L, "Tennis", 1L, "Rowing", 1L), result.sportFacets());
+    }
+    
+    @Test
+    void stopWordOnlyQueryDoesNotFilter() {
+        ScholarshipSearchCriteria criteria = new ScholarshipSearchCriteria();
+        criteria.setQ("the for");
+        
+        assertEquals(4, searchIndex.search(criteria).total());
+    }
+    
+    @Test
+    void sortsWithIdAsTieBreakerAndPages() {
+        ScholarshipSearchCriteria criteria = new ScholarshipSearchCriteria();
+        criteria.setSort("amount");
+        criteria.setDirection("desc");
+        criteria.setSize(2);
+        
+        assertEquals(List.of(1L, 4L), ids(searchIndex.search(criteria)));
+        
+        criteria.setPage(1);
+        ScholarshipSearchResult second = searchIndex.search(criteria);
+        assertEquals(List.of(3L, 2L), ids(second));
+        assertEquals(4, second.total());
+    }
+    
+    @Test
+    void rejectsUnknownSort() {
+        ScholarshipSearchCriteria criteria = new ScholarshipSearchCriteria();
+        criteria.setSort("popularity");
+        
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> searchIndex.search(criteria));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+    
+    @Test
+    void followsANewCatalogSnapshot() {
+        assertEquals(4, searchIndex.search(new ScholarshipSearchCriteria()).total());
+        
+        catalog(scholarship(6L, "Golf award", "Golf", "Merit", "300", TODAY.plusDays(5)));
+        
+        assertEquals(List.of(6L), ids(searchIndex.search(new ScholarshipSearchCriteria())));
+    }
+    
+    private void catalog(Scholarship... scholarships) {
+        List<Scholarship> active = List.of(scholarships);
+        active.forEach(textIndex::put);
+        when(catalogCache.get()).thenReturn(new ScholarshipCatalogCache.Snapshot(active, active,
+            Instant.now().plusSeconds(60), 1, "\"1\"", Instant.now()));
+    }
+    
+    private static List<Long> ids(ScholarshipSearchResult result) {
+        return result.content().stream().map(ScholarshipDto::id).toList();
+    }
+    
+    private static Scholarship scholarship(Long id, String title, String sport, String category, String amount,
+                                           LocalDate deadline) {
+        Scholarship scholarship = new Scholarship(title, title, sport, category, new BigDecimal(amount), deadline,
+            deadline.plusMonths(1), deadline.plusMonths(13), "Open", "ID");
+        scholarship.setId(id);
+        return scholarship;
+    }
+}
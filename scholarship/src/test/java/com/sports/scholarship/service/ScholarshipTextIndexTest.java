@@ -0,0 +1,129 @@
+package com.sports.scholarship.service;
+
+import com.sports.scholarship.entity.Scholarship;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScholarshipTextIndexTest {
+    
+    private final ScholarshipTextIndex index = new ScholarshipTextIndex();
+    
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+    
+    @Test
+    void matchesEveryQueryTermAndRanksTitleHitsFirst() {
+        index.put(scholarship(1L, "Swimming excellence award", "For competitive athletes", "Open to all"));
+        index.put(scholarship(2L, "Athletics grant", "For swimming and running athletes", "Open to all"));
+        index.put(scholarship(3L, "Tennis bursary", "For tennis players", "Open to all"));
+        
+        Map<Long, Double> scores = index.search("swimming athletes");
+        
+        assertEquals(Set.of(1L, 2L), scores.keySet());
+        assertTrue(scores.get(1L) > scores.get(2L), scores.toString());
+    }
+    
+    @Test
+    void termsMatchAsPrefixesButExactMatchesScoreHigher() {
+        index.put(scholarship(1L, "Swim camp", "Summer camp", "Juniors"));
+        index.put(scholarship(2L, "Swimming camp", "Summer camp", "Juniors"));
+        
+        Map<Long, Double> scores = index.search("swim");
+        
+        assertEquals(Set.of(1L, 2L), scores.keySet());
+        assertTrue(scores.get(1L) > scores.get(2L), scores.toString());
+        assertEquals(Set.of(2L), index.search("swimmi").keySet());
+    }
+    
+    @Test
+    void shortPrefixesReachEveryExpansion() {
+        for (long id = 1; id <= 100; id++) {
+            index.put(scholarship(id, "Sa" + id + " award", "Description", "Criteria"));
+        }
+        index.put(scholarship(101L, "Swimming award", "Description", "Criteria"));
+        
+        assertEquals(101, index.search("s").size());
+    }
+    
+    @Test
+    void stopWordsAreNotTerms() {
+        index.put(scholarship(1L, "The award for swimmers", "Description", "Criteria"));
+        
+        assertFalse(ScholarshipTextIndex.hasTerms("the for"));
+        assertFalse(ScholarshipTextIndex.hasTerms("  "));
+        assertFalse(ScholarshipTextIndex.hasTerms(null));
+        assertTrue(ScholarshipTextIndex.hasTerms("the swimmers"));
+        assertEquals(Set.of(1L), index.search("the swimmers").keySet());
+    }
+    
+    @Test
+    void putReplacesAndInactiveOrRemovedDrop() {
+        Scholarship scholarship = scholarship(1L, "Rowing award", "Description", "Criteria");
+        index.put(scholarship);
+        scholarship.setTitle("Cycling award");
+        index.put(scholarship);
+        
+        assertTrue(index.search("rowing").isEmpty());
+        assertEquals(Set.of(1L), index.search("cycling").keySet());
+        
+        scholarship.setActive(false);
+        index.put(scholarship);
+        assertTrue(index.search("cycling").isEmpty());
+        
+        index.put(scholarship(2L, "Golf award", "Description", "Criteria"));
+        index.remove(2L);
+        assertTrue(index.search("golf").isEmpty());
+    }
+    
+    @Test
+    void insideATransactionAppliesOnlyOnCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        index.put(scholarship(1L, "Rowing award", "Description", "Criteria"));
+        
+        assertTrue(index.search("rowing").isEmpty());
+        
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertEquals(Set.of(1L), index.search("rowing").keySet());
+    }
+    
+    @Test
+    void rolledBackTransactionLeavesTheIndexAlone() {
+        index.put(scholarship(1L, "Rowing award", "Description", "Criteria"));
+        
+        TransactionSynchronizationManager.initSynchronization();
+        index.remove(1L);
+        // Rollback: the synchronizations are dropped without afterCommit
+        TransactionSynchronizationManager.clearSynchronization();
+        
+        assertEquals(Set.of(1L), index.search("rowing").keySet());
+    }
+    
+    @Test
+    void tokenizesOnLettersAndDigitsOnly() {
+        assertEquals(List.of("u18", "women", "s", "100m", "freestyle"),
+            ScholarshipTextIndex.tokenize("U18 Women's 100m-freestyle!"));
+    }
+    
+    static Scholarship scholarship(Long id, String title, String description, String eligibilityCriteria) {
+        Scholarship scholarship = new Scholarship();
+        scholarship.setId(id);
+        scholarship.setTitle(title);
+        scholarship.setDescription(description);
+        scholarship.setEligibilityCriteria(eligibilityCriteria);
+        return scholarship;
+    }
+}
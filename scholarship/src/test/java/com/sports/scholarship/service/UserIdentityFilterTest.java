@@ -0,0 +1,102 @@
+package com.sports.scholarship.service;
+
+import com.sports.scholarship.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserIdentityFilterTest {
+    
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private UserIdentityFilter filter;
+    
+    @BeforeEach
+    void setUp() {
+        filter = new UserIdentityFilter(1_000, 0.01);
+        ReflectionTestUtils.setField(filter, "userRepository", userRepository);
+        when(userRepository.findIdentitiesAfter(anyLong(), any(Pageable.class))).thenReturn(List.of());
+    }
+    
+    @Test
+    void everythingMightBeTakenUntilWarmed() {
+        assertTrue(filter.mightHaveUsername("nobody"));
+        assertTrue(filter.mightHaveEmail("nobody@example.org"));
+        
+        filter.warm();
+        
+        assertFalse(filter.mightHaveUsername("nobody"));
+        assertFalse(filter.mightHaveEmail("nobody@example.org"));
+    }
+    
+    @Test
+    void warmsFromEveryExistingUserIgnoringCase() {
+        when(userRepository.findIdentitiesAfter(eq(0L), any(Pageable.class)))
+            .thenReturn(List.of(identity(3L, "Alice", "Alice@Example.org"), identity(8L, "bob", "bob@example.org")));
+        
+        filter.warm();
+        
+        assertTrue(filter.mightHaveUsername("alice"));
+        assertTrue(filter.mightHaveUsername("BOB"));
+        assertTrue(filter.mightHaveEmail("alice@example.org"));
+        assertFalse(filter.mightHaveUsername("carol"));
+    }
+    
+    @Test
+    void readsFullBatchesUntilAShortOne() {
+        List<UserRepository.UserIdentity> fullBatch = LongStream.rangeClosed(1, 10_000)
+            .mapToObj(id -> identity(id, "user" + id, "user" + id + "@example.org"))
+            .toList();
+        when(userRepository.findIdentitiesAfter(eq(0L), any(Pageable.class))).thenReturn(fullBatch);
+        when(userRepository.findIdentitiesAfter(eq(10_000L), any(Pageable.class)))
+            .thenReturn(List.of(identity(10_001L, "last", "last@example.org")));
+        
+        filter.warm();
+        
+        verify(userRepository).findIdentitiesAfter(10_000L, PageRequest.of(0, 10_000));
+        assertTrue(filter.mightHaveUsername("user1"));
+        assertTrue(filter.mightHaveUsername("last"));
+    }
+    
+    @Test
+    void remembersUsersAddedAfterWarming() {
+        filter.warm();
+        
+        filter.add("Dana", "dana@example.org");
+        
+        assertTrue(filter.mightHaveUsername("dana"));
+        assertTrue(filter.mightHaveEmail("DANA@example.org"));
+    }
+    
+    private static UserRepository.UserIdentity identity(Long id, String username, String email) {
+        return new UserRepository.UserIdentity() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+            
+            @Override
+            public String getUsername() {
+                return username;
+            }
+            
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+}